@@ -0,0 +1,60 @@
+package com.manus.quickreport.benchmark;
+
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Storage paths behind /report, /reports, /myreports and the leaderboards, against 10k/100k/1M seeded reports.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DatabaseBenchmark {
+
+    /**
+     * Queued, committed and acknowledged, as /report waits for it.
+     */
+    @Benchmark
+    public int saveReport(SeededServer server) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int reporter = random.nextInt(SeededServer.REPORTERS);
+        int reported = random.nextInt(SeededServer.REPORTED);
+        Report report = new Report(0, SeededServer.reporterUUID(reporter), SeededServer.reporterName(reporter),
+                SeededServer.reportedUUID(reported), SeededServer.reportedName(reported), "Fly", null,
+                System.currentTimeMillis(), ReportStatus.PENDING, null, null, null);
+        return server.databaseManager.saveReport(report).join();
+    }
+
+    @Benchmark
+    public List<Report> getReportsByStatus(SeededServer server) {
+        return server.databaseManager.getReportsByStatus(ReportStatus.PENDING);
+    }
+
+    @Benchmark
+    public List<Report> getReportsByReporter(SeededServer server) {
+        int reporter = ThreadLocalRandom.current().nextInt(SeededServer.REPORTERS);
+        return server.databaseManager.getReportsByReporter(SeededServer.reporterUUID(reporter));
+    }
+
+    @Benchmark
+    public Map<String, Integer> getTopReporters(SeededServer server) {
+        return server.databaseManager.getTopReporters(ReportStatus.ACCEPTED, 10);
+    }
+}
@@ -0,0 +1,69 @@
+package com.manus.quickreport.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.manus.quickreport.papi.QuickReportExpansion;
+import com.manus.quickreport.util.MessageManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message rendering and placeholder resolution, which run on the main thread for every chat line and scoreboard refresh.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PlaceholderBenchmark {
+
+    private MessageManager messageManager;
+    private Map<String, String> placeholders;
+    private QuickReportExpansion expansion;
+    private PlayerMock player;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededServer server) throws InterruptedException {
+        messageManager = server.plugin.getMessageManager();
+        placeholders = new HashMap<>();
+        placeholders.put("id", "123456");
+        placeholders.put("reported", SeededServer.reportedName(7));
+        expansion = new QuickReportExpansion(server.plugin);
+
+        // Joining warms the reporter's counters, as on a live server
+        player = new PlayerMock(MockBukkit.getMock(), SeededServer.reporterName(7), SeededServer.reporterUUID(7));
+        MockBukkit.getMock().addPlayer(player);
+        while (!server.plugin.getReporterStatsCache().isLoaded(player.getUniqueId())) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Benchmark
+    public String getMessage() {
+        return messageManager.getMessage("admin-new-report-notification", placeholders, "en");
+    }
+
+    @Benchmark
+    public String onRequestReporterCount() {
+        return expansion.onRequest(player, "kabul_edilen");
+    }
+
+    @Benchmark
+    public String onRequestLeaderboard() {
+        return expansion.onRequest(player, "top_kabul_isim_3");
+    }
+}
@@ -0,0 +1,108 @@
+package com.manus.quickreport.benchmark;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import com.manus.quickreport.QuickReport;
+import com.manus.quickreport.database.DatabaseManager;
+import com.manus.quickreport.model.ReportStatus;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * The plugin enabled on a mock server, with its temporary reports.db seeded with {@link #reportCount} reports
+ * spread over {@link #REPORTERS} reporters and {@link #REPORTED} reported players (10% pending, 60% accepted,
+ * 30% rejected). Seeding goes straight through JDBC in one transaction, then the leaderboards are reloaded.
+ */
+@State(Scope.Benchmark)
+public class SeededServer {
+
+    public static final int REPORTERS = 1000;
+    public static final int REPORTED = 5000;
+    public static final String[] REASONS = {"Fly", "KillAura", "Speed", "Xray", "Griefing", "Swearing"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int reportCount;
+
+    public QuickReport plugin;
+    public DatabaseManager databaseManager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        MockBukkit.mock();
+        plugin = MockBukkit.load(QuickReport.class);
+        databaseManager = (DatabaseManager) plugin.getReportRepository();
+        seed(new File(plugin.getDataFolder(), "reports.db"), reportCount);
+        plugin.getLeaderboardCache().load(databaseManager);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    public static UUID reporterUUID(int index) {
+        return new UUID(0x5EEDL, index);
+    }
+
+    public static String reporterName(int index) {
+        return "Reporter" + index;
+    }
+
+    public static UUID reportedUUID(int index) {
+        return new UUID(0xBADL, index);
+    }
+
+    public static String reportedName(int index) {
+        return "Suspect" + index;
+    }
+
+    private static void seed(File database, int count) throws SQLException {
+        String sql = "INSERT INTO reports (reporter_uuid, reporter_name, reported_uuid, reported_name, reason, details, timestamp, status, admin_uuid, admin_name, rejection_reason, processed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        UUID adminUUID = new UUID(0xAD41L, 0);
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + database.getAbsolutePath())) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < count; i++) {
+                    int reporter = random.nextInt(REPORTERS);
+                    int reported = random.nextInt(REPORTED);
+                    int bucket = i % 10;
+                    ReportStatus status = bucket == 0 ? ReportStatus.PENDING : bucket < 7 ? ReportStatus.ACCEPTED : ReportStatus.REJECTED;
+                    long timestamp = now - (long) (count - i) * 1000L;
+                    boolean processed = status != ReportStatus.PENDING;
+
+                    pstmt.setString(1, reporterUUID(reporter).toString());
+                    pstmt.setString(2, reporterName(reporter));
+                    pstmt.setString(3, reportedUUID(reported).toString());
+                    pstmt.setString(4, reportedName(reported));
+                    pstmt.setString(5, REASONS[random.nextInt(REASONS.length)]);
+                    pstmt.setString(6, random.nextBoolean() ? "Seen near spawn at around " + (i % 24) + ":00" : null);
+                    pstmt.setLong(7, timestamp);
+                    pstmt.setString(8, status.name());
+                    pstmt.setString(9, processed ? adminUUID.toString() : null);
+                    pstmt.setString(10, processed ? "Admin" : null);
+                    pstmt.setString(11, status == ReportStatus.REJECTED ? "Not enough evidence" : null);
+                    pstmt.setObject(12, processed ? timestamp + 60_000L : null);
+                    pstmt.addBatch();
+                    if (i % 10_000 == 9_999) {
+                        pstmt.executeBatch();
+                    }
+                }
+                pstmt.executeBatch();
+            }
+            conn.commit();
+        }
+    }
+}
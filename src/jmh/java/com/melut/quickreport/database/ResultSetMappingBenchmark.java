@@ -0,0 +1,69 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.benchmark.SeededServer;
+import com.manus.quickreport.model.Report;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row-to-{@link Report} mapping, measured per row over a {@value #ROWS}-row read (the row stepping is included).
+ * Lives in the database package because the mapper is package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResultSetMappingBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private Connection connection;
+    private PreparedStatement statement;
+    private StorageFormat format;
+
+    @Setup(Level.Trial)
+    public void setUp(SeededServer server) throws SQLException {
+        File database = new File(server.plugin.getDataFolder(), "reports.db");
+        connection = DriverManager.getConnection("jdbc:sqlite:" + database.getAbsolutePath());
+        format = SchemaMigrator.detectFormat(connection);
+        statement = connection.prepareStatement("SELECT * FROM reports ORDER BY id LIMIT " + ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        statement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void createReportFromResultSet(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(DatabaseManager.createReportFromResultSet(rs, format));
+            }
+        }
+    }
+}
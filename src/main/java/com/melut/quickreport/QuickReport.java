@@ -1,9 +1,29 @@
 package com.manus.quickreport;
 
+import com.manus.quickreport.cache.HotTargetIndex;
+import com.manus.quickreport.cache.LeaderboardCache;
+import com.manus.quickreport.cache.ReportCache;
+import com.manus.quickreport.cache.ReporterStatsCache;
 import com.manus.quickreport.database.DatabaseManager;
+import com.manus.quickreport.database.MemoryReportRepository;
+import com.manus.quickreport.database.ReportArchiver;
+import com.manus.quickreport.database.ReportRepository;
+import com.manus.quickreport.database.SqlDialect;
+import com.manus.quickreport.listener.PlayerListener;
 import com.manus.quickreport.manager.ReportManager;
+import com.manus.quickreport.metrics.LatencyHistogram;
+import com.manus.quickreport.metrics.MetricsRegistry;
+import com.manus.quickreport.metrics.MetricsReporter;
+import com.manus.quickreport.metrics.ReportMetrics;
+import com.manus.quickreport.metrics.StatsCommand;
+import com.manus.quickreport.metrics.TimedCommand;
+import com.manus.quickreport.util.AsyncPipeline;
 import com.manus.quickreport.util.MessageManager;
+import com.manus.quickreport.util.TaskScheduler;
 import org.bukkit.Bukkit;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
@@ -11,37 +31,111 @@ import java.io.File;
 public final class QuickReport extends JavaPlugin {
 
     private static QuickReport instance;
-    private DatabaseManager databaseManager;
+    private ReportRepository reportRepository;
     private ReportManager reportManager;
     private MessageManager messageManager;
+    private TaskScheduler taskScheduler;
+    private AsyncPipeline asyncPipeline;
+    private ReporterStatsCache reporterStatsCache;
+    private LeaderboardCache leaderboardCache;
+    private HotTargetIndex hotTargetIndex;
+    private ReportArchiver reportArchiver;
+    private MetricsRegistry metrics;
+    private MetricsRegistry.Family<LatencyHistogram> mainThreadLatency;
 
     @Override
     public void onEnable() {
         instance = this;
         saveDefaultConfig();
 
+        // Metrics come first so every component can register its own
+        this.metrics = new MetricsRegistry();
+        this.mainThreadLatency = metrics.histogram("quickreport_main_thread_seconds",
+                "Main-thread time spent in command executors and placeholder resolution", "source");
+        // Paper's scheduler, or Folia's region schedulers
+        this.taskScheduler = TaskScheduler.create(this);
+
         // Initialize Managers
         this.messageManager = new MessageManager(this);
-        this.databaseManager = new DatabaseManager(this);
+        this.reportRepository = createReportRepository();
+        this.asyncPipeline = new AsyncPipeline(this, getConfig().getInt("database.read-pool-size", 4));
         this.reportManager = new ReportManager(this);
 
-        // Setup Database
-        if (!databaseManager.connect()) {
-            getLogger().severe("Failed to connect to the database! Disabling plugin.");
+        // Setup Storage
+        if (!reportRepository.connect()) {
+            getLogger().severe("Failed to connect to the report storage! Disabling plugin.");
             getServer().getPluginManager().disablePlugin(this);
             return;
         }
-        databaseManager.createTables();
+        if (!reportRepository.initialize()) {
+            getLogger().severe("Failed to prepare the report storage! Disabling plugin.");
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+        if (reportRepository instanceof DatabaseManager && ((DatabaseManager) reportRepository).isArchiveEnabled()) {
+            this.reportArchiver = new ReportArchiver(this, (DatabaseManager) reportRepository);
+            reportArchiver.start();
+        }
+
+        // Initialize Caches
+        this.reporterStatsCache = new ReporterStatsCache(reportRepository);
+        reportRepository.addChangeListener(reporterStatsCache);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            reporterStatsCache.load(player.getUniqueId());
+        }
+        this.leaderboardCache = new LeaderboardCache(getConfig().getInt("leaderboard-max-depth", 100));
+        reportRepository.addChangeListener(leaderboardCache);
+        leaderboardCache.load(reportRepository);
+        this.hotTargetIndex = new HotTargetIndex();
+        HotTargetIndex.Window escalationWindow = HotTargetIndex.Window.fromLabel(getConfig().getString("hot-targets.escalation-window", "10m"));
+        if (escalationWindow == null) {
+            getLogger().warning("Invalid hot-targets.escalation-window in config, using 10m.");
+            escalationWindow = HotTargetIndex.Window.TEN_MINUTES;
+        }
+        hotTargetIndex.setEscalation(getConfig().getInt("hot-targets.escalation-threshold", 5), escalationWindow,
+                reportManager.getAdminNotifier()::escalateHotTarget);
+        reportRepository.addChangeListener(hotTargetIndex);
+        hotTargetIndex.load(reportRepository);
+        // Players nobody reported in the last hour are dropped every five minutes
+        taskScheduler.runAsyncTimer(hotTargetIndex::purgeIdle, 6000L, 6000L);
+        // Counts looked up for offline players (placeholders) expire after a while
+        taskScheduler.runAsyncTimer(() -> reporterStatsCache.purgeOffline(System.currentTimeMillis()), 1200L, 1200L);
+        if (reportRepository.isShared()) {
+            // Reports written by the other servers never show up as change notifications here
+            long refreshTicks = Math.max(1, getConfig().getLong("storage.mysql.refresh-seconds", 30)) * 20;
+            taskScheduler.runAsyncTimer(() -> {
+                leaderboardCache.load(reportRepository);
+                reporterStatsCache.reloadAll();
+            }, refreshTicks, refreshTicks);
+        }
+
+        // Metrics
+        reportRepository.addChangeListener(new ReportMetrics(metrics));
+        if (reportRepository instanceof DatabaseManager) {
+            ReportCache reportCache = ((DatabaseManager) reportRepository).getReportCache();
+            metrics.register("quickreport_cache_hits_total", "Cache lookups served from memory", MetricsRegistry.Type.COUNTER,
+                    "cache", "reports", reportCache::getHits);
+            metrics.register("quickreport_cache_misses_total", "Cache lookups that had to go to the database", MetricsRegistry.Type.COUNTER,
+                    "cache", "reports", reportCache::getMisses);
+        }
+        metrics.register("quickreport_cache_hits_total", "Cache lookups served from memory", MetricsRegistry.Type.COUNTER,
+                "cache", "reporter_stats", reporterStatsCache::getHits);
+        metrics.register("quickreport_cache_misses_total", "Cache lookups that had to go to the database", MetricsRegistry.Type.COUNTER,
+                "cache", "reporter_stats", reporterStatsCache::getMisses);
+        MetricsReporter metricsReporter = new MetricsReporter(this, metrics);
+        metricsReporter.start();
 
         // Register Commands
-        getCommand("report").setExecutor(reportManager.getReportCommand());
-        getCommand("myreports").setExecutor(reportManager.getMyReportsCommand());
-        getCommand("queryreport").setExecutor(reportManager.getQueryReportCommand());
-        getCommand("reports").setExecutor(reportManager.getReportsCommand());
-        getCommand("reportaction").setExecutor(reportManager.getReportActionCommand());
+        registerCommand("report", reportManager.getReportCommand());
+        registerCommand("myreports", reportManager.getMyReportsCommand());
+        registerCommand("queryreport", reportManager.getQueryReportCommand());
+        registerCommand("reports", reportManager.getReportsCommand());
+        registerCommand("reportaction", reportManager.getReportActionCommand());
+        registerCommand("quickreport", new StatsCommand(this, metrics, metricsReporter));
 
         // Register Listeners
-        // No listeners yet, but will be added later for admin notifications
+        getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
+        reportManager.getAdminNotifier().start();
 
         // PlaceholderAPI Integration
         if (Bukkit.getPluginManager().getPlugin("PlaceholderAPI") != null) {
@@ -54,10 +148,39 @@ public final class QuickReport extends JavaPlugin {
         getLogger().info("QuickReport has been enabled!");
     }
 
+    private ReportRepository createReportRepository() {
+        String type = getConfig().getString("storage.type", "sqlite");
+        if (type.equalsIgnoreCase("memory")) {
+            return new MemoryReportRepository(this);
+        }
+        if (type.equalsIgnoreCase("mysql") || type.equalsIgnoreCase("mariadb")) {
+            return new DatabaseManager(this, SqlDialect.MYSQL);
+        }
+        if (!type.equalsIgnoreCase("sqlite")) {
+            getLogger().warning("Unknown storage.type '" + type + "', using sqlite.");
+        }
+        return new DatabaseManager(this);
+    }
+
+    private void registerCommand(String name, CommandExecutor executor) {
+        PluginCommand command = getCommand(name);
+        TimedCommand timed = new TimedCommand(executor, mainThreadLatency.get("command:" + name));
+        command.setExecutor(timed);
+        command.setTabCompleter(timed);
+    }
+
     @Override
     public void onDisable() {
-        if (databaseManager != null) {
-            databaseManager.disconnect();
+        if (reportArchiver != null) {
+            reportArchiver.stop();
+        }
+        if (asyncPipeline != null) {
+            asyncPipeline.shutdown();
+        }
+        if (reportRepository != null) {
+            // Commit every queued report/status update before the connection goes away
+            reportRepository.drainWrites();
+            reportRepository.disconnect();
         }
         getLogger().info("QuickReport has been disabled!");
     }
@@ -66,8 +189,8 @@ public final class QuickReport extends JavaPlugin {
         return instance;
     }
 
-    public DatabaseManager getDatabaseManager() {
-        return databaseManager;
+    public ReportRepository getReportRepository() {
+        return reportRepository;
     }
 
     public ReportManager getReportManager() {
@@ -77,4 +200,32 @@ public final class QuickReport extends JavaPlugin {
     public MessageManager getMessageManager() {
         return messageManager;
     }
+
+    public TaskScheduler getTaskScheduler() {
+        return taskScheduler;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public MetricsRegistry.Family<LatencyHistogram> getMainThreadLatency() {
+        return mainThreadLatency;
+    }
+
+    public AsyncPipeline getAsyncPipeline() {
+        return asyncPipeline;
+    }
+
+    public ReporterStatsCache getReporterStatsCache() {
+        return reporterStatsCache;
+    }
+
+    public LeaderboardCache getLeaderboardCache() {
+        return leaderboardCache;
+    }
+
+    public HotTargetIndex getHotTargetIndex() {
+        return hotTargetIndex;
+    }
 }
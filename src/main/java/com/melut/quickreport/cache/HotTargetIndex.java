@@ -0,0 +1,219 @@
+package com.manus.quickreport.cache;
+
+import com.manus.quickreport.database.ReportChangeListener;
+import com.manus.quickreport.database.ReportRepository;
+import com.manus.quickreport.model.Report;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report counts per reported player over the last minute, ten minutes and hour, kept in 30-second buckets.
+ * Loaded from the last hour of reports at startup and updated from change notifications, so the
+ * "hot" view and escalation checks never query the database.
+ */
+public class HotTargetIndex implements ReportChangeListener {
+
+    public enum Window {
+        MINUTE("1m", 2),
+        TEN_MINUTES("10m", 20),
+        HOUR("1h", BUCKETS);
+
+        private final String label;
+        private final int buckets;
+
+        Window(String label, int buckets) {
+            this.label = label;
+            this.buckets = buckets;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public static Window fromLabel(String label) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(label)) {
+                    return window;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Called (on the thread that saved the report) when a player's count in the escalation window reaches the threshold.
+     */
+    @FunctionalInterface
+    public interface EscalationHandler {
+        void onEscalation(UUID reportedUUID, String reportedName, int count, Window window);
+    }
+
+    public static final class HotTarget {
+        private final UUID reportedUUID;
+        private final String reportedName;
+        private final int[] counts;
+
+        private HotTarget(UUID reportedUUID, String reportedName, int[] counts) {
+            this.reportedUUID = reportedUUID;
+            this.reportedName = reportedName;
+            this.counts = counts;
+        }
+
+        public UUID getReportedUUID() {
+            return reportedUUID;
+        }
+
+        public String getReportedName() {
+            return reportedName;
+        }
+
+        public int getCount(Window window) {
+            return counts[window.ordinal()];
+        }
+    }
+
+    private static final long BUCKET_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final int BUCKETS = 120;
+
+    private static final class Target {
+        private volatile String name;
+        private final int[] counts = new int[BUCKETS];
+        private long lastBucket;
+
+        private Target(String name, long bucket) {
+            this.name = name;
+            this.lastBucket = bucket;
+        }
+
+        private void advance(long bucket) {
+            if (bucket <= lastBucket) {
+                return;
+            }
+            long stale = Math.min(BUCKETS, bucket - lastBucket);
+            for (long b = lastBucket + 1; b <= lastBucket + stale; b++) {
+                counts[(int) Math.floorMod(b, (long) BUCKETS)] = 0;
+            }
+            lastBucket = bucket;
+        }
+
+        synchronized void add(long bucket) {
+            advance(bucket);
+            // Reports older than the hour (or from a clock that ran ahead) have no bucket to land in
+            if (bucket > lastBucket - BUCKETS) {
+                counts[(int) Math.floorMod(bucket, (long) BUCKETS)]++;
+            }
+        }
+
+        synchronized int sum(long bucket, int buckets) {
+            advance(bucket);
+            int sum = 0;
+            for (long b = bucket - buckets + 1; b <= bucket; b++) {
+                sum += counts[(int) Math.floorMod(b, (long) BUCKETS)];
+            }
+            return sum;
+        }
+
+        synchronized boolean isIdle(long bucket) {
+            return sum(bucket, BUCKETS) == 0;
+        }
+    }
+
+    private final Map<UUID, Target> targets = new ConcurrentHashMap<>();
+    private volatile int escalationThreshold;
+    private volatile Window escalationWindow = Window.TEN_MINUTES;
+    private volatile EscalationHandler escalationHandler;
+
+    /**
+     * @param threshold count in {@code window} that triggers {@code handler}; 0 disables escalation
+     */
+    public void setEscalation(int threshold, Window window, EscalationHandler handler) {
+        this.escalationThreshold = threshold;
+        this.escalationWindow = window;
+        this.escalationHandler = handler;
+    }
+
+    public void load(ReportRepository repository) {
+        repository.getReportsSince(System.currentTimeMillis() - BUCKET_MILLIS * BUCKETS, reports -> {
+            targets.clear();
+            for (Report report : reports) {
+                record(report, false);
+            }
+        });
+    }
+
+    public int getCount(UUID reportedUUID, Window window) {
+        Target target = targets.get(reportedUUID);
+        return target != null ? target.sum(bucket(System.currentTimeMillis()), window.buckets) : 0;
+    }
+
+    /**
+     * @return up to {@code limit} players with reports in the last hour, most reported in {@code orderBy} first
+     */
+    public List<HotTarget> getHottest(Window orderBy, int limit) {
+        long bucket = bucket(System.currentTimeMillis());
+        List<HotTarget> hottest = new ArrayList<>();
+        for (Map.Entry<UUID, Target> entry : targets.entrySet()) {
+            Target target = entry.getValue();
+            int[] counts = new int[Window.values().length];
+            for (Window window : Window.values()) {
+                counts[window.ordinal()] = target.sum(bucket, window.buckets);
+            }
+            if (counts[Window.HOUR.ordinal()] > 0) {
+                hottest.add(new HotTarget(entry.getKey(), target.name, counts));
+            }
+        }
+        hottest.sort((a, b) -> {
+            int compare = Integer.compare(b.getCount(orderBy), a.getCount(orderBy));
+            return compare != 0 ? compare : Integer.compare(b.getCount(Window.HOUR), a.getCount(Window.HOUR));
+        });
+        return hottest.size() > limit ? new ArrayList<>(hottest.subList(0, limit)) : hottest;
+    }
+
+    /**
+     * Drops players with no reports in the last hour.
+     */
+    public void purgeIdle() {
+        long bucket = bucket(System.currentTimeMillis());
+        for (UUID reportedUUID : targets.keySet()) {
+            targets.computeIfPresent(reportedUUID, (uuid, target) -> target.isIdle(bucket) ? null : target);
+        }
+    }
+
+    public int size() {
+        return targets.size();
+    }
+
+    private void record(Report report, boolean escalate) {
+        long bucket = bucket(report.getTimestamp());
+        Target target = targets.compute(report.getReportedUUID(), (uuid, existing) -> {
+            Target updated = existing != null ? existing : new Target(report.getReportedName(), bucket);
+            updated.name = report.getReportedName();
+            updated.add(bucket);
+            return updated;
+        });
+
+        EscalationHandler handler = escalationHandler;
+        int threshold = escalationThreshold;
+        if (escalate && handler != null && threshold > 0) {
+            int count = target.sum(bucket(System.currentTimeMillis()), escalationWindow.buckets);
+            // Fire once on the crossing rather than for every report above it
+            if (count == threshold) {
+                handler.onEscalation(report.getReportedUUID(), report.getReportedName(), count, escalationWindow);
+            }
+        }
+    }
+
+    private static long bucket(long timestamp) {
+        return timestamp / BUCKET_MILLIS;
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        record(report, true);
+    }
+}
@@ -0,0 +1,100 @@
+package com.manus.quickreport.cache;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Reporter names ranked by count. Updates are O(log n) on a sorted set; the first {@code maxDepth}
+ * ranks are republished as an immutable array so rank lookups are a plain array read.
+ */
+public class Leaderboard {
+
+    public static final class Entry {
+        private final String name;
+        private final int count;
+
+        private Entry(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingInt((Entry e) -> e.count).reversed()
+            .thenComparing(e -> e.name);
+
+    private final int maxDepth;
+    private final Map<String, Entry> byName = new HashMap<>();
+    private final TreeSet<Entry> ranked = new TreeSet<>(ORDER);
+    private volatile Entry[] top = new Entry[0];
+
+    public Leaderboard(int maxDepth) {
+        this.maxDepth = Math.max(1, maxDepth);
+    }
+
+    public synchronized void load(Map<String, Integer> counts) {
+        byName.clear();
+        ranked.clear();
+        for (Map.Entry<String, Integer> count : counts.entrySet()) {
+            if (count.getValue() > 0) {
+                Entry entry = new Entry(count.getKey(), count.getValue());
+                byName.put(entry.name, entry);
+                ranked.add(entry);
+            }
+        }
+        publish();
+    }
+
+    public synchronized void add(String name, int delta) {
+        Entry previous = byName.remove(name);
+        int count = (previous != null ? previous.count : 0) + delta;
+        if (previous != null) {
+            ranked.remove(previous);
+        }
+        Entry updated = null;
+        if (count > 0) {
+            updated = new Entry(name, count);
+            byName.put(name, updated);
+            ranked.add(updated);
+        }
+        if (affectsTop(previous) || affectsTop(updated)) {
+            publish();
+        }
+    }
+
+    /**
+     * @param rank 1-based rank
+     * @return the entry at that rank, or null if nobody holds it (or it is deeper than the configured depth)
+     */
+    public Entry get(int rank) {
+        Entry[] snapshot = top;
+        return rank >= 1 && rank <= snapshot.length ? snapshot[rank - 1] : null;
+    }
+
+    private boolean affectsTop(Entry entry) {
+        if (entry == null) {
+            return false;
+        }
+        Entry[] snapshot = top;
+        return snapshot.length < maxDepth || ORDER.compare(entry, snapshot[snapshot.length - 1]) <= 0;
+    }
+
+    private void publish() {
+        Entry[] snapshot = new Entry[Math.min(maxDepth, ranked.size())];
+        Iterator<Entry> iterator = ranked.iterator();
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = iterator.next();
+        }
+        top = snapshot;
+    }
+}
@@ -0,0 +1,47 @@
+package com.manus.quickreport.cache;
+
+import com.manus.quickreport.database.ReportChangeListener;
+import com.manus.quickreport.database.ReportRepository;
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One {@link Leaderboard} per report status, computed once at startup and kept current
+ * from database change notifications.
+ */
+public class LeaderboardCache implements ReportChangeListener {
+
+    private final Map<ReportStatus, Leaderboard> leaderboards = new EnumMap<>(ReportStatus.class);
+
+    public LeaderboardCache(int maxDepth) {
+        for (ReportStatus status : ReportStatus.values()) {
+            leaderboards.put(status, new Leaderboard(maxDepth));
+        }
+    }
+
+    public void load(ReportRepository repository) {
+        for (ReportStatus status : ReportStatus.values()) {
+            repository.countReportsPerReporterName(status, leaderboards.get(status)::load);
+        }
+    }
+
+    public Leaderboard.Entry get(ReportStatus status, int rank) {
+        return leaderboards.get(status).get(rank);
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        leaderboards.get(report.getStatus()).add(report.getReporterName(), 1);
+    }
+
+    @Override
+    public void onStatusChanged(Report report, ReportStatus previousStatus) {
+        if (previousStatus != report.getStatus()) {
+            leaderboards.get(previousStatus).add(report.getReporterName(), -1);
+            leaderboards.get(report.getStatus()).add(report.getReporterName(), 1);
+        }
+    }
+}
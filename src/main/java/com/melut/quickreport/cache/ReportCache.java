@@ -0,0 +1,118 @@
+package com.manus.quickreport.cache;
+
+import com.manus.quickreport.database.ReportChangeListener;
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportSnapshot;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of reports by id with a time-to-live. Holds read-only snapshots so entries can be
+ * handed to any thread; writes go through via the change notifications.
+ */
+public class ReportCache implements ReportChangeListener {
+
+    private static final class CachedReport {
+        private final ReportSnapshot report;
+        private final long expiresAt;
+
+        private CachedReport(ReportSnapshot report, long expiresAt) {
+            this.report = report;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final long ttlNanos;
+    private final Map<Integer, CachedReport> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ReportCache(int maxSize, long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedReport> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached report, or null on a miss (absent or expired)
+     */
+    public Report get(int id) {
+        CachedReport cached;
+        synchronized (entries) {
+            cached = entries.get(id);
+            if (cached != null && cached.expiresAt - System.nanoTime() <= 0) {
+                entries.remove(id);
+                cached = null;
+            }
+        }
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.report;
+    }
+
+    /**
+     * Caches a report read from the database. Never replaces an existing entry: one written through
+     * from a newer change must win over a read that may have started before it.
+     */
+    public Report putIfAbsent(Report report) {
+        CachedReport created = new CachedReport(ReportSnapshot.of(report), System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            CachedReport existing = entries.putIfAbsent(report.getId(), created);
+            return existing != null ? existing.report : created.report;
+        }
+    }
+
+    public void invalidate(int id) {
+        synchronized (entries) {
+            entries.remove(id);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        put(report);
+    }
+
+    @Override
+    public void onStatusChanged(Report report, ReportStatus previousStatus) {
+        put(report);
+    }
+
+    private void put(Report report) {
+        CachedReport cached = new CachedReport(ReportSnapshot.of(report), System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            entries.put(report.getId(), cached);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.manus.quickreport.cache;
+
+import com.manus.quickreport.database.ReportChangeListener;
+import com.manus.quickreport.database.ReportRepository;
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-reporter report counts by status, loaded once per player and then kept current from
+ * database change notifications, so placeholders never touch JDBC.
+ * <p>
+ * Online players stay cached until they quit. Players looked up while offline (e.g. by a placeholder on a
+ * hologram) are kept for {@link #OFFLINE_TTL_MILLIS} after their last use, and at most
+ * {@link #MAX_OFFLINE_ENTRIES} of them.
+ */
+public class ReporterStatsCache implements ReportChangeListener {
+
+    static final int MAX_OFFLINE_ENTRIES = 1000;
+    static final long OFFLINE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    private final ReportRepository repository;
+    private final Map<UUID, AtomicIntegerArray> counters = new ConcurrentHashMap<>();
+    private final Set<UUID> online = ConcurrentHashMap.newKeySet();
+    // Cached players that are not online -> when they were last read
+    private final Map<UUID, Long> offlineLastUsed = new ConcurrentHashMap<>();
+    private final Set<UUID> loading = ConcurrentHashMap.newKeySet();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ReporterStatsCache(ReportRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Loads an online player's counts in the background unless they are already cached or loading.
+     * They stay cached until {@link #evict(UUID)}.
+     */
+    public void load(UUID reporterUUID) {
+        online.add(reporterUUID);
+        offlineLastUsed.remove(reporterUUID);
+        if (counters.containsKey(reporterUUID) || !loading.add(reporterUUID)) {
+            return;
+        }
+        fetch(reporterUUID, false, true);
+    }
+
+    /**
+     * Like {@link #load(UUID)} for a player who may be offline; the counts expire unless the player joins.
+     */
+    public void loadOffline(UUID reporterUUID) {
+        if (counters.containsKey(reporterUUID) || !loading.add(reporterUUID)) {
+            return;
+        }
+        fetch(reporterUUID, false, false);
+    }
+
+    /**
+     * Reloads the counts of every cached player, to pick up reports written by other servers sharing the database.
+     */
+    public void reloadAll() {
+        for (UUID reporterUUID : counters.keySet()) {
+            if (loading.add(reporterUUID)) {
+                fetch(reporterUUID, true, false);
+            }
+        }
+    }
+
+    /**
+     * @param joined loaded for a player who joined; dropped if they quit before the counts arrive
+     */
+    private void fetch(UUID reporterUUID, boolean reload, boolean joined) {
+        repository.countReportsByReporterPerStatus(reporterUUID, counts -> {
+            AtomicIntegerArray loaded = new AtomicIntegerArray(ReportStatus.values().length);
+            for (Map.Entry<ReportStatus, Integer> entry : counts.entrySet()) {
+                loaded.set(entry.getKey().ordinal(), entry.getValue());
+            }
+            if (reload) {
+                // A player evicted in the meantime stays evicted
+                counters.replace(reporterUUID, loaded);
+            } else if (online.contains(reporterUUID)) {
+                counters.put(reporterUUID, loaded);
+                if (!online.contains(reporterUUID)) {
+                    // Quit between the check and the put; evict() may already have run
+                    counters.remove(reporterUUID, loaded);
+                }
+            } else if (!joined) {
+                offlineLastUsed.put(reporterUUID, System.currentTimeMillis());
+                counters.put(reporterUUID, loaded);
+                trimOffline();
+            }
+        }).whenComplete((ignored, error) -> loading.remove(reporterUUID));
+    }
+
+    public void evict(UUID reporterUUID) {
+        online.remove(reporterUUID);
+        offlineLastUsed.remove(reporterUUID);
+        counters.remove(reporterUUID);
+    }
+
+    /**
+     * Drops offline players that haven't been read for {@link #OFFLINE_TTL_MILLIS}.
+     */
+    public void purgeOffline(long now) {
+        offlineLastUsed.entrySet().removeIf(entry -> {
+            if (now - entry.getValue() < OFFLINE_TTL_MILLIS) {
+                return false;
+            }
+            counters.remove(entry.getKey());
+            return true;
+        });
+    }
+
+    private void trimOffline() {
+        while (offlineLastUsed.size() > MAX_OFFLINE_ENTRIES) {
+            UUID oldest = null;
+            long oldestUse = Long.MAX_VALUE;
+            for (Map.Entry<UUID, Long> entry : offlineLastUsed.entrySet()) {
+                if (entry.getValue() < oldestUse) {
+                    oldest = entry.getKey();
+                    oldestUse = entry.getValue();
+                }
+            }
+            if (oldest == null || offlineLastUsed.remove(oldest) == null) {
+                return;
+            }
+            counters.remove(oldest);
+        }
+    }
+
+    public boolean isLoaded(UUID reporterUUID) {
+        return counters.containsKey(reporterUUID);
+    }
+
+    /**
+     * @return the cached count, or 0 while the player's counts are not loaded yet
+     */
+    public int getCount(UUID reporterUUID, ReportStatus status) {
+        AtomicIntegerArray counts = counters.get(reporterUUID);
+        if (counts == null) {
+            misses.increment();
+            return 0;
+        }
+        hits.increment();
+        offlineLastUsed.replace(reporterUUID, System.currentTimeMillis());
+        return counts.get(status.ordinal());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        AtomicIntegerArray counts = counters.get(report.getReporterUUID());
+        if (counts != null) {
+            counts.incrementAndGet(report.getStatus().ordinal());
+        }
+    }
+
+    @Override
+    public void onStatusChanged(Report report, ReportStatus previousStatus) {
+        AtomicIntegerArray counts = counters.get(report.getReporterUUID());
+        if (counts != null && previousStatus != report.getStatus()) {
+            counts.decrementAndGet(previousStatus.ordinal());
+            counts.incrementAndGet(report.getStatus().ordinal());
+        }
+    }
+}
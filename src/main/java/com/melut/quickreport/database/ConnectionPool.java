@@ -0,0 +1,17 @@
+package com.manus.quickreport.database;
+
+import java.sql.SQLException;
+
+/**
+ * Connections used for reads, so queries never wait on (or race with) the writer thread.
+ */
+public interface ConnectionPool {
+
+    <T> T execute(ReadConnectionPool.ReadOperation<T> operation) throws SQLException;
+
+    int getSize();
+
+    int getIdleCount();
+
+    void close();
+}
@@ -1,34 +1,147 @@
 package com.manus.quickreport.database;
 
 import com.manus.quickreport.QuickReport;
+import com.manus.quickreport.cache.ReportCache;
+import com.manus.quickreport.metrics.LatencyHistogram;
+import com.manus.quickreport.metrics.MetricsRegistry;
 import com.manus.quickreport.model.Report;
 import com.manus.quickreport.model.ReportStatus;
-import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
 
 import java.io.File;
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.List;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
-public class DatabaseManager {
+public class DatabaseManager implements ReportRepository {
+
+    private static final List<String> JOURNAL_MODES = Arrays.asList("DELETE", "TRUNCATE", "PERSIST", "MEMORY", "WAL", "OFF");
+    private static final List<String> SYNCHRONOUS_MODES = Arrays.asList("OFF", "NORMAL", "FULL", "EXTRA");
+    // Tries at inserting a journaled report before it is dropped from the journal
+    private static final int JOURNAL_INSERT_ATTEMPTS = 3;
+    // Spelled out where the live and archive tables are combined, as their columns may have been added in another order
+    private static final String REPORT_COLUMNS = "id, reporter_uuid, reporter_name, reported_uuid, reported_name, reason, details, "
+            + "timestamp, status, admin_uuid, admin_name, rejection_reason, processed_at";
 
     private final QuickReport plugin;
+    private final SqlDialect dialect;
+    // SQLite only; a pooled database lends the writer a connection per batch instead
     private Connection connection;
+    private DatabaseWriter writer;
+    private ConnectionPool readPool;
+    private final PageCursorCache pageCursors = new PageCursorCache(1024, 64);
+    private final List<ReportChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final ReportCache reportCache;
+    private volatile StorageFormat format = StorageFormat.TEXT;
     private final String databasePath;
+    // Processed reports moved out by ReportArchiver live in this attached database
+    private final String archivePath;
+    private final boolean archiveEnabled;
+    private volatile StorageFormat archiveFormat = StorageFormat.TEXT;
+    // New reports are acknowledged once journaled and inserted in the background; null when disabled
+    private final ReportJournal journal;
+    // Appends to the journal (a disk flush per report with sync enabled) so they never run on a tick thread
+    private final ExecutorService journalExecutor;
+    private volatile boolean journalFullWarned;
+    private final MetricsRegistry metrics;
+    private final MetricsRegistry.Family<LatencyHistogram> operationLatency;
+    private final LatencyHistogram writeQueueWait;
 
     public DatabaseManager(QuickReport plugin) {
+        this(plugin, SqlDialect.SQLITE);
+    }
+
+    public DatabaseManager(QuickReport plugin, SqlDialect dialect) {
         this.plugin = plugin;
+        this.dialect = dialect;
         this.databasePath = plugin.getDataFolder().getAbsolutePath() + File.separator + "reports.db";
+        this.archivePath = plugin.getDataFolder().getAbsolutePath() + File.separator + "reports-archive.db";
+        boolean sqlite = dialect == SqlDialect.SQLITE;
+        if (!sqlite && (plugin.getConfig().getBoolean("archive.enabled", false) || plugin.getConfig().getBoolean("database.journal.enabled", false))) {
+            // The archive is an attached SQLite file, and journal ids would collide between servers sharing the database
+            plugin.getLogger().warning("archive and database.journal are only available with SQLite storage and are ignored.");
+        }
+        this.archiveEnabled = sqlite && plugin.getConfig().getBoolean("archive.enabled", false);
+        this.journal = sqlite && plugin.getConfig().getBoolean("database.journal.enabled", false)
+                ? new ReportJournal(new File(plugin.getDataFolder(), plugin.getConfig().getString("database.journal.file", "reports.journal")),
+                        plugin.getConfig().getLong("database.journal.size-mb", 8) * 1024 * 1024,
+                        plugin.getConfig().getBoolean("database.journal.sync", false))
+                : null;
+        this.journalExecutor = journal != null ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "QuickReport-Journal");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.metrics = plugin.getMetrics();
+        this.operationLatency = metrics.histogram("quickreport_db_operation_seconds",
+                "Time per DatabaseManager operation; for writes, from queueing until the commit", "operation");
+        this.writeQueueWait = metrics.histogram("quickreport_db_write_queue_wait_seconds",
+                "Time writes wait in the writer queue before they run", null).get();
+        long cacheTtl = plugin.getConfig().getLong("cache.report-ttl-seconds", 300);
+        if (dialect.isShared()) {
+            // Reports handled on other servers never reach the write-through, so don't serve them staler than a refresh
+            cacheTtl = Math.min(cacheTtl, Math.max(1, plugin.getConfig().getLong("storage.mysql.refresh-seconds", 30)));
+        }
+        this.reportCache = new ReportCache(plugin.getConfig().getInt("cache.report-max-size", 512), cacheTtl);
+        // Write-through: saved and updated reports replace whatever the cache holds for their id
+        changeListeners.add(reportCache);
     }
 
+    @Override
     public boolean connect() {
+        if (dialect != SqlDialect.SQLITE) {
+            return connectPooled();
+        }
+        String journalMode = pragmaValue("database.journal-mode", "WAL", JOURNAL_MODES);
+        String synchronous = pragmaValue("database.synchronous", "NORMAL", SYNCHRONOUS_MODES);
+        int busyTimeout = plugin.getConfig().getInt("database.busy-timeout-ms", 5000);
         try {
             Class.forName("org.sqlite.JDBC");
-            connection = DriverManager.getConnection("jdbc:sqlite:" + databasePath);
-            plugin.getLogger().info("SQLite connection established.");
+            String url = "jdbc:sqlite:" + databasePath;
+            connection = DriverManager.getConnection(url);
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("PRAGMA busy_timeout = " + busyTimeout);
+                stmt.execute("PRAGMA journal_mode = " + journalMode);
+                stmt.execute("PRAGMA synchronous = " + synchronous);
+                if (archiveEnabled) {
+                    enableIncrementalVacuum(stmt);
+                }
+            }
+            if (archiveEnabled) {
+                try (PreparedStatement pstmt = connection.prepareStatement("ATTACH DATABASE ? AS archive")) {
+                    pstmt.setString(1, archivePath);
+                    pstmt.execute();
+                }
+            }
+            // Reads go through their own connections so they never wait on (or race with) the writer thread
+            readPool = new ReadConnectionPool(
+                    url,
+                    plugin.getConfig().getInt("database.read-pool-size", 4),
+                    busyTimeout,
+                    busyTimeout,
+                    archiveEnabled ? Collections.singletonMap("archive", archivePath) : Collections.emptyMap()
+            );
+            startWriter(() -> connection);
+            plugin.getLogger().info("SQLite connection established (journal_mode=" + journalMode + ", synchronous=" + synchronous
+                    + ", read connections=" + readPool.getSize() + ").");
             return true;
         } catch (SQLException | ClassNotFoundException e) {
             plugin.getLogger().severe("Could not connect to SQLite database: " + e.getMessage());
@@ -36,7 +149,147 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Connects to the database server configured under storage.mysql, shared with the other servers of the network.
+     */
+    private boolean connectPooled() {
+        ConfigurationSection config = plugin.getConfig().getConfigurationSection("storage.mysql");
+        if (config == null) {
+            plugin.getLogger().severe("storage.type is " + dialect.name().toLowerCase(Locale.ROOT) + ", but there is no storage.mysql section in config.yml.");
+            return false;
+        }
+        String url = config.getString("url", "");
+        if (url.isEmpty()) {
+            url = "jdbc:mysql://" + config.getString("host", "localhost") + ":" + config.getInt("port", 3306) + "/" + config.getString("database", "quickreport");
+        }
+        Map<String, Object> properties = new HashMap<>();
+        ConfigurationSection extra = config.getConfigurationSection("properties");
+        if (extra != null) {
+            for (String key : extra.getKeys(false)) {
+                properties.put(key, extra.getString(key));
+            }
+        }
+        HikariConnectionPool pool;
+        try {
+            pool = new HikariConnectionPool(url, config.getString("driver", ""), config.getString("username", "root"), config.getString("password", ""),
+                    config.getInt("pool-size", 8), config.getLong("connection-timeout-ms", 5000), properties);
+        } catch (RuntimeException e) {
+            // Hikari reports a failed first connection as an unchecked PoolInitializationException
+            plugin.getLogger().severe("Could not connect to the report database: " + e.getMessage());
+            return false;
+        }
+        readPool = pool;
+        startWriter(pool);
+        plugin.getLogger().info("Connected to the shared report database (pool size=" + pool.getSize() + ").");
+        return true;
+    }
+
+    private void startWriter(DatabaseWriter.ConnectionSource connections) {
+        writer = new DatabaseWriter(
+                plugin.getLogger(),
+                connections,
+                plugin.getConfig().getInt("database.writer-queue-capacity", 1024),
+                plugin.getConfig().getInt("database.writer-max-batch-size", 64),
+                plugin.getConfig().getLong("database.writer-flush-interval-ms", 20)
+        );
+        writer.start();
+        metrics.register("quickreport_db_write_queue_size", "Writes waiting for the writer thread",
+                MetricsRegistry.Type.GAUGE, writer::getQueueSize);
+        metrics.register("quickreport_db_read_connections_in_use", "Read connections currently borrowed",
+                MetricsRegistry.Type.GAUGE, () -> readPool.getSize() - readPool.getIdleCount());
+    }
+
+    /**
+     * Archived rows leave free pages behind; incremental auto-vacuum lets the archiver hand them back to the
+     * file system a few at a time. Switching an existing database over needs one full VACUUM.
+     */
+    private void enableIncrementalVacuum(Statement stmt) throws SQLException {
+        int mode;
+        try (ResultSet rs = stmt.executeQuery("PRAGMA auto_vacuum")) {
+            mode = rs.next() ? rs.getInt(1) : 0;
+        }
+        if (mode != 2) {
+            plugin.getLogger().info("Enabling incremental vacuum on reports.db (one-time VACUUM, this may take a while)...");
+            stmt.execute("PRAGMA auto_vacuum = INCREMENTAL");
+            stmt.execute("VACUUM");
+        }
+    }
+
+    private String pragmaValue(String path, String def, List<String> allowed) {
+        String value = plugin.getConfig().getString(path, def).toUpperCase(Locale.ROOT);
+        if (!allowed.contains(value)) {
+            plugin.getLogger().warning("Invalid value '" + value + "' for " + path + ", using " + def + ".");
+            return def;
+        }
+        return value;
+    }
+
+    private <T> T read(String operation, ReadConnectionPool.ReadOperation<T> read) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            return readPool.execute(read);
+        } finally {
+            operationLatency.get(operation).recordSince(start);
+        }
+    }
+
+    private <T> CompletableFuture<T> write(String operation, DatabaseWriter.WriteOperation<T> write) {
+        return write(operation, write, Function.identity());
+    }
+
+    private <T, R> CompletableFuture<R> write(String operation, DatabaseWriter.WriteOperation<T> write, Function<T, R> afterCommit) {
+        long queuedAt = System.nanoTime();
+        LatencyHistogram latency = operationLatency.get(operation);
+        return writer.submit(conn -> {
+            writeQueueWait.recordSince(queuedAt);
+            return write.execute(conn);
+        }, afterCommit).whenComplete((result, error) -> latency.recordSince(queuedAt));
+    }
+
+    @Override
+    public boolean isShared() {
+        return dialect.isShared();
+    }
+
+    public ReportCache getReportCache() {
+        return reportCache;
+    }
+
+    @Override
+    public void addChangeListener(ReportChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Blocks until every queued insert and status update has been committed.
+     */
+    @Override
+    public void drainWrites() {
+        if (journalExecutor != null && !journalExecutor.isShutdown()) {
+            // Journaled reports are queued for the writer from this thread, so it has to finish first
+            journalExecutor.shutdown();
+            try {
+                if (!journalExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    plugin.getLogger().warning("Report journal did not finish within 5000ms.");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (writer != null) {
+            writer.shutdown(plugin.getConfig().getLong("database.writer-shutdown-timeout-ms", 10000));
+        }
+    }
+
+    @Override
     public void disconnect() {
+        drainWrites();
+        if (journal != null) {
+            journal.close();
+        }
+        if (readPool != null) {
+            readPool.close();
+        }
         try {
             if (connection != null && !connection.isClosed()) {
                 connection.close();
@@ -47,146 +300,1005 @@ public class DatabaseManager {
         }
     }
 
-    public void createTables() {
-        String sql = "CREATE TABLE IF NOT EXISTS reports ("
-                + "id INTEGER PRIMARY KEY AUTOINCREMENT,"
-                + "reporter_uuid TEXT NOT NULL,"
-                + "reporter_name TEXT NOT NULL,"
-                + "reported_uuid TEXT NOT NULL,"
-                + "reported_name TEXT NOT NULL,"
-                + "reason TEXT NOT NULL,"
-                + "details TEXT,"
-                + "timestamp INTEGER NOT NULL,"
-                + "status TEXT NOT NULL DEFAULT 'PENDING',"
-                + "admin_uuid TEXT,"
-                + "admin_name TEXT,"
-                + "rejection_reason TEXT"
-                + ");";
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(sql);
-            plugin.getLogger().info("Reports table checked/created.");
+    /**
+     * Brings the schema up to date. Runs on the writer thread so migrations never interleave with report writes.
+     */
+    @Override
+    public boolean initialize() {
+        boolean compact = plugin.getConfig().getBoolean("database.compact-storage", false);
+        SchemaMigrator migrator = new SchemaMigrator(plugin.getLogger(), dialect, compact ? StorageFormat.COMPACT : StorageFormat.TEXT);
+        try {
+            int version = runSchemaWork(migrator::migrate);
+            plugin.getLogger().info("Reports schema is at version " + version + ".");
+
+            StorageFormat detected = runSchemaWork(dialect::detectFormat);
+            if (compact && detected == StorageFormat.TEXT && dialect != SqlDialect.SQLITE) {
+                plugin.getLogger().warning("database.compact-storage only applies when the reports table is created; the existing table keeps the text format.");
+            } else if (compact && detected == StorageFormat.TEXT) {
+                plugin.getLogger().info("Converting reports to the compact storage format, this may take a while...");
+                writer.submit(migrator::convertToCompact).join();
+                detected = StorageFormat.COMPACT;
+            } else if (!compact && detected == StorageFormat.COMPACT) {
+                plugin.getLogger().warning("database.compact-storage is disabled, but the reports table already uses the compact format. Keeping it.");
+            }
+            this.format = detected;
+
+            if (archiveEnabled) {
+                StorageFormat mainFormat = detected;
+                this.archiveFormat = writer.submit(conn -> {
+                    SchemaMigrator.createArchiveTable(conn, mainFormat);
+                    return SchemaMigrator.detectFormat(conn, "archive");
+                }).join();
+            }
+        } catch (CompletionException e) {
+            plugin.getLogger().severe("Error migrating reports schema: " + e.getCause().getMessage());
+            return false;
+        }
+        if (dialect.isShared()) {
+            // Other servers' writes don't reach the change notifications, so page boundaries and counts are only trusted for a while
+            long refreshTicks = Math.max(1, plugin.getConfig().getLong("storage.mysql.refresh-seconds", 30)) * 20;
+            plugin.getTaskScheduler().runAsyncTimer(pageCursors::invalidateAll, refreshTicks, refreshTicks);
+        }
+        return journal == null || replayJournal();
+    }
+
+    /**
+     * Runs DDL on the writer thread for SQLite. On a server, DDL commits implicitly and drops the savepoint
+     * the writer wraps each write in, so it runs on a pooled connection in autocommit mode instead; every
+     * migration step is idempotent, so a step interrupted there is simply repeated on the next start.
+     */
+    private <T> T runSchemaWork(DatabaseWriter.WriteOperation<T> operation) {
+        if (!dialect.isShared()) {
+            return writer.submit(operation).join();
+        }
+        try {
+            return readPool.execute(connection -> {
+                connection.setAutoCommit(true);
+                return operation.execute(connection);
+            });
         } catch (SQLException e) {
-            plugin.getLogger().severe("Error creating reports table: " + e.getMessage());
+            throw new CompletionException(e);
         }
     }
 
-    public int saveReport(Report report) {
+    /**
+     * Inserts the reports that were acknowledged from the journal but had not reached reports.db when the
+     * server stopped, then empties the journal. Already inserted ones are skipped, since a report can be
+     * committed just before its applied mark is lost.
+     */
+    private boolean replayJournal() {
+        try {
+            List<Report> unapplied = journal.open();
+            if (!unapplied.isEmpty()) {
+                writer.submit(conn -> {
+                    for (Report report : unapplied) {
+                        insertWithId(conn, report, true);
+                    }
+                    return null;
+                }).join();
+                plugin.getLogger().info("Applied " + unapplied.size() + " journaled reports that had not reached reports.db.");
+            }
+            journal.reset(writer.submit(this::lastReportId).join());
+            metrics.register("quickreport_journal_pending", "Journaled reports not yet committed to reports.db",
+                    MetricsRegistry.Type.GAUGE, journal::getPendingCount);
+            return true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Error opening the report journal: " + e.getMessage());
+        } catch (CompletionException e) {
+            plugin.getLogger().severe("Error applying the report journal: " + e.getCause().getMessage());
+        }
+        return false;
+    }
+
+    private int lastReportId(Connection conn) throws SQLException {
+        int last = 0;
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT MAX(id) FROM reports")) {
+                last = rs.next() ? rs.getInt(1) : 0;
+            }
+            // Covers ids that were handed out and later archived or deleted
+            try (ResultSet rs = stmt.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = 'reports'")) {
+                if (rs.next()) {
+                    last = Math.max(last, rs.getInt(1));
+                }
+            }
+            if (archiveEnabled) {
+                try (ResultSet rs = stmt.executeQuery("SELECT MAX(id) FROM archive.reports")) {
+                    if (rs.next()) {
+                        last = Math.max(last, rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    @Override
+    public CompletableFuture<Integer> saveReport(Report report) {
+        if (journal != null) {
+            return saveJournaled(report);
+        }
         String sql = "INSERT INTO reports (reporter_uuid, reporter_name, reported_uuid, reported_name, reason, details, timestamp, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, report.getReporterUUID().toString());
-            pstmt.setString(2, report.getReporterName());
-            pstmt.setString(3, report.getReportedUUID().toString());
-            pstmt.setString(4, report.getReportedName());
-            pstmt.setString(5, report.getReason());
-            pstmt.setString(6, report.getDetails());
-            pstmt.setLong(7, report.getTimestamp());
-            pstmt.setString(8, report.getStatus().name());
-            pstmt.executeUpdate();
+        return write("saveReport", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setObject(1, format.uuid(report.getReporterUUID()));
+                pstmt.setString(2, report.getReporterName());
+                pstmt.setObject(3, format.uuid(report.getReportedUUID()));
+                pstmt.setString(4, report.getReportedName());
+                pstmt.setString(5, report.getReason());
+                pstmt.setString(6, report.getDetails());
+                pstmt.setLong(7, report.getTimestamp());
+                pstmt.setObject(8, format.status(report.getStatus()));
+                pstmt.executeUpdate();
 
-            try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                if (generatedKeys.next()) {
-                    return generatedKeys.getInt(1);
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        return generatedKeys.getInt(1);
+                    }
                 }
             }
-        } catch (SQLException e) {
+            return -1;
+        }, id -> {
+            if (id != -1) {
+                onReportSaved(new Report(id, report.getReporterUUID(), report.getReporterName(), report.getReportedUUID(),
+                        report.getReportedName(), report.getReason(), report.getDetails(), report.getTimestamp(),
+                        report.getStatus(), report.getAdminUUID(), report.getAdminName(), report.getRejectionReason()));
+            }
+            return id;
+        }).exceptionally(e -> {
             plugin.getLogger().severe("Error saving report: " + e.getMessage());
+            return -1;
+        });
+    }
+
+    /**
+     * Journals the report on the journal thread and completes with its id as soon as it is journaled; the
+     * insert into reports.db follows with the writer's next batch. The id is only handed out after that insert
+     * is queued, so status updates for it are queued behind the insert and always find it.
+     */
+    private CompletableFuture<Integer> saveJournaled(Report report) {
+        CompletableFuture<Integer> result = new CompletableFuture<>();
+        try {
+            journalExecutor.execute(() -> {
+                try {
+                    journalAndQueue(report).whenComplete((id, error) -> result.complete(error == null ? id : -1));
+                } catch (RuntimeException e) {
+                    plugin.getLogger().severe("Error journaling report: " + e.getMessage());
+                    result.complete(-1);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            plugin.getLogger().severe("Error saving report: the report journal is shut down.");
+            return CompletableFuture.completedFuture(-1);
+        }
+        return result;
+    }
+
+    private CompletableFuture<Integer> journalAndQueue(Report report) {
+        Report journaled;
+        try {
+            journaled = journal.append(report);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Error journaling report: " + e.getMessage());
+            journaled = null;
+        }
+        if (journaled == null) {
+            if (!journalFullWarned) {
+                journalFullWarned = true;
+                plugin.getLogger().warning("The report journal is full; new reports are acknowledged after the database commit until it drains."
+                        + " Consider raising database.journal.size-mb.");
+            }
+            Report direct = new Report(journal.allocateId(), report.getReporterUUID(), report.getReporterName(), report.getReportedUUID(),
+                    report.getReportedName(), report.getReason(), report.getDetails(), report.getTimestamp(),
+                    ReportStatus.PENDING, null, null, null);
+            return write("saveReport", conn -> insertWithId(conn, direct, false), id -> {
+                onReportSaved(direct);
+                return id;
+            }).exceptionally(e -> {
+                plugin.getLogger().severe("Error saving report: " + e.getMessage());
+                return -1;
+            });
+        }
+
+        Report saved = journaled;
+        CompletableFuture<Integer> applied = insertJournaled(saved);
+        if (applied.isCompletedExceptionally()) {
+            // Rejected before it was queued (queue full or shutting down), so the reporter is told it failed
+            journal.discard(saved.getId());
+            plugin.getLogger().severe("Error saving report: the database write queue did not accept it.");
+            return CompletableFuture.completedFuture(-1);
+        }
+        applied.whenComplete((id, error) -> {
+            if (error != null) {
+                retryJournaled(saved, 1, error);
+            }
+        });
+        return CompletableFuture.completedFuture(saved.getId());
+    }
+
+    private CompletableFuture<Integer> insertJournaled(Report report) {
+        return write("saveReport", conn -> insertWithId(conn, report, false), id -> {
+            journal.applied(id);
+            onReportSaved(report);
+            return id;
+        });
+    }
+
+    /**
+     * Queues the insert of a journaled report again after it failed. A report that keeps failing is dropped
+     * from the journal, so it neither blocks the journal from starting over nor is served by getReportById.
+     * Note that a retry runs behind writes queued in the meantime, such as a status update for the same id.
+     */
+    private void retryJournaled(Report report, int attempts, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof RejectedExecutionException) {
+            // Shutting down: the record stays pending and is inserted on the next start
+            plugin.getLogger().warning("Journaled report #" + report.getId() + " will be inserted on the next start: " + cause.getMessage());
+            return;
+        }
+        if (attempts >= JOURNAL_INSERT_ATTEMPTS) {
+            journal.discard(report.getId());
+            plugin.getLogger().severe("Journaled report #" + report.getId() + " (" + report.getReporterName() + " against "
+                    + report.getReportedName() + ", " + report.getReason() + ") could not be saved after " + attempts
+                    + " attempts and was dropped, although its reporter was told it was received: " + cause.getMessage());
+            return;
         }
-        return -1;
+        plugin.getLogger().warning("Error saving journaled report #" + report.getId() + ", retrying: " + cause.getMessage());
+        insertJournaled(report).whenComplete((id, retryError) -> {
+            if (retryError != null) {
+                retryJournaled(report, attempts + 1, retryError);
+            }
+        });
     }
 
-    public void updateReportStatus(int id, ReportStatus status, UUID adminUUID, String adminName, String rejectionReason) {
-        String sql = "UPDATE reports SET status = ?, admin_uuid = ?, admin_name = ?, rejection_reason = ? WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, status.name());
-            pstmt.setString(2, adminUUID != null ? adminUUID.toString() : null);
-            pstmt.setString(3, adminName);
-            pstmt.setString(4, rejectionReason);
-            pstmt.setInt(5, id);
+    private int insertWithId(Connection conn, Report report, boolean skipExisting) throws SQLException {
+        String sql = (skipExisting ? dialect.insertIgnore() : "INSERT") + " INTO reports (id, reporter_uuid, reporter_name, reported_uuid, reported_name, reason, details, timestamp, status)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, report.getId());
+            pstmt.setObject(2, format.uuid(report.getReporterUUID()));
+            pstmt.setString(3, report.getReporterName());
+            pstmt.setObject(4, format.uuid(report.getReportedUUID()));
+            pstmt.setString(5, report.getReportedName());
+            pstmt.setString(6, report.getReason());
+            pstmt.setString(7, report.getDetails());
+            pstmt.setLong(8, report.getTimestamp());
+            pstmt.setObject(9, format.status(report.getStatus()));
             pstmt.executeUpdate();
-        } catch (SQLException e) {
+        }
+        return report.getId();
+    }
+
+    private void onReportSaved(Report saved) {
+        pageCursors.invalidate(statusListing(saved.getStatus()));
+        pageCursors.invalidate(reporterListing(saved.getReporterUUID()));
+        fireChange(listener -> listener.onReportSaved(saved));
+    }
+
+    /**
+     * Moves a report from {@code expected} to {@code status} only if it is still in {@code expected}, and stamps
+     * the processing time. Two admins acting on the same report can both call this; exactly one gets APPLIED.
+     */
+    @Override
+    public CompletableFuture<StatusTransition> transitionReportStatus(int id, ReportStatus expected, ReportStatus status,
+                                                                      UUID adminUUID, String adminName, String rejectionReason) {
+        String sql = "UPDATE reports SET status = ?, admin_uuid = ?, admin_name = ?, rejection_reason = ?, processed_at = ? WHERE id = ? AND status = ?";
+        return write("transitionReportStatus", conn -> {
+            int updated;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setObject(1, format.status(status));
+                pstmt.setObject(2, format.uuid(adminUUID));
+                pstmt.setString(3, adminName);
+                pstmt.setString(4, rejectionReason);
+                pstmt.setLong(5, System.currentTimeMillis());
+                pstmt.setInt(6, id);
+                pstmt.setObject(7, format.status(expected));
+                updated = pstmt.executeUpdate();
+            }
+            // Same transaction: this is the row as this update left it, or as whoever got there first left it
+            Report current = findReport(conn, id);
+            if (current == null) {
+                return new StatusTransition(StatusTransition.Result.NOT_FOUND, null);
+            }
+            return new StatusTransition(updated > 0 ? StatusTransition.Result.APPLIED : StatusTransition.Result.CONFLICT, current);
+        }, transition -> {
+            if (transition.isApplied()) {
+                for (ReportStatus listed : ReportStatus.values()) {
+                    pageCursors.invalidate(statusListing(listed));
+                }
+                fireChange(listener -> listener.onStatusChanged(transition.getReport(), expected));
+            }
+            return transition;
+        }).exceptionally(e -> {
             plugin.getLogger().severe("Error updating report status: " + e.getMessage());
+            return new StatusTransition(StatusTransition.Result.FAILED, null);
+        });
+    }
+
+    /**
+     * Bulk form of {@link #transitionReportStatus}: every report matched by {@code selector} that is still in
+     * {@code expected} (at most {@code limit} of them, lowest ids first) is moved to {@code status} in one
+     * transaction with a single batched UPDATE.
+     *
+     * @return the reports this call changed, as they are after the update, or null if the update failed
+     */
+    @Override
+    public CompletableFuture<List<Report>> transitionReportStatuses(ReportSelector selector, ReportStatus expected, ReportStatus status,
+                                                                    UUID adminUUID, String adminName, String rejectionReason, int limit) {
+        String select = "SELECT * FROM reports WHERE status = ? AND " + selector.whereClause(dialect) + " ORDER BY id LIMIT ?";
+        String update = "UPDATE reports SET status = ?, admin_uuid = ?, admin_name = ?, rejection_reason = ?, processed_at = ? WHERE id = ? AND status = ?";
+        return write("transitionReportStatuses", conn -> {
+            List<Report> candidates = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(select)) {
+                pstmt.setObject(1, format.status(expected));
+                int index = selector.bind(pstmt, 2);
+                pstmt.setInt(index, limit);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        candidates.add(createReportFromResultSet(rs));
+                    }
+                }
+            }
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+
+            long processedAt = System.currentTimeMillis();
+            int[] counts;
+            try (PreparedStatement pstmt = conn.prepareStatement(update)) {
+                for (Report report : candidates) {
+                    pstmt.setObject(1, format.status(status));
+                    pstmt.setObject(2, format.uuid(adminUUID));
+                    pstmt.setString(3, adminName);
+                    pstmt.setString(4, rejectionReason);
+                    pstmt.setLong(5, processedAt);
+                    pstmt.setInt(6, report.getId());
+                    pstmt.setObject(7, format.status(expected));
+                    pstmt.addBatch();
+                }
+                counts = pstmt.executeBatch();
+            }
+
+            List<Report> applied = new ArrayList<>(candidates.size());
+            for (int i = 0; i < candidates.size(); i++) {
+                if (counts[i] > 0) {
+                    Report before = candidates.get(i);
+                    applied.add(new Report(before.getId(), before.getReporterUUID(), before.getReporterName(), before.getReportedUUID(),
+                            before.getReportedName(), before.getReason(), before.getDetails(), before.getTimestamp(),
+                            status, adminUUID, adminName, rejectionReason, processedAt));
+                }
+            }
+            return applied;
+        }, applied -> {
+            if (!applied.isEmpty()) {
+                for (ReportStatus listed : ReportStatus.values()) {
+                    pageCursors.invalidate(statusListing(listed));
+                }
+                for (Report report : applied) {
+                    fireChange(listener -> listener.onStatusChanged(report, expected));
+                }
+            }
+            return applied;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error updating report statuses: " + e.getMessage());
+            return null;
+        });
+    }
+
+    public boolean isArchiveEnabled() {
+        return archiveEnabled;
+    }
+
+    /**
+     * Moves up to {@code batchSize} processed reports last touched before {@code cutoff} into the archive
+     * database. Each call is one short write, so the archiver can run without holding up report writes.
+     *
+     * @return the number of reports moved
+     */
+    public CompletableFuture<Integer> archiveProcessedReports(long cutoff, int batchSize) {
+        String select = "SELECT * FROM reports WHERE status != ? AND COALESCE(processed_at, timestamp) < ? ORDER BY id LIMIT ?";
+        // A crash during COMMIT can leave a moved row in both files (SQLite is only atomic per file in WAL mode),
+        // so the copy replaces what it finds and the next pass finishes the move
+        String insert = "INSERT OR REPLACE INTO archive.reports (id, reporter_uuid, reporter_name, reported_uuid, reported_name, reason, details, timestamp, status, admin_uuid, admin_name, rejection_reason, processed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String delete = "DELETE FROM reports WHERE id = ?";
+        return write("archiveProcessedReports", conn -> {
+            List<Report> batch = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(select)) {
+                pstmt.setObject(1, format.status(ReportStatus.PENDING));
+                pstmt.setLong(2, cutoff);
+                pstmt.setInt(3, batchSize);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        batch.add(createReportFromResultSet(rs));
+                    }
+                }
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try (PreparedStatement insertStmt = conn.prepareStatement(insert);
+                 PreparedStatement deleteStmt = conn.prepareStatement(delete)) {
+                for (Report report : batch) {
+                    insertStmt.setInt(1, report.getId());
+                    insertStmt.setObject(2, archiveFormat.uuid(report.getReporterUUID()));
+                    insertStmt.setString(3, report.getReporterName());
+                    insertStmt.setObject(4, archiveFormat.uuid(report.getReportedUUID()));
+                    insertStmt.setString(5, report.getReportedName());
+                    insertStmt.setString(6, report.getReason());
+                    insertStmt.setString(7, report.getDetails());
+                    insertStmt.setLong(8, report.getTimestamp());
+                    insertStmt.setObject(9, archiveFormat.status(report.getStatus()));
+                    insertStmt.setObject(10, archiveFormat.uuid(report.getAdminUUID()));
+                    insertStmt.setString(11, report.getAdminName());
+                    insertStmt.setString(12, report.getRejectionReason());
+                    insertStmt.setObject(13, report.getProcessedAt() > 0 ? report.getProcessedAt() : null);
+                    insertStmt.addBatch();
+                    deleteStmt.setInt(1, report.getId());
+                    deleteStmt.addBatch();
+                }
+                insertStmt.executeBatch();
+                deleteStmt.executeBatch();
+            }
+            return batch.size();
+        }, moved -> {
+            if (moved > 0) {
+                // Counts and page boundaries of the processed listings (and their reporters) just shifted
+                pageCursors.invalidateAll();
+            }
+            return moved;
+        });
+    }
+
+    /**
+     * Returns up to {@code pages} free pages of reports.db to the file system.
+     *
+     * @return the number of pages released
+     */
+    public CompletableFuture<Integer> incrementalVacuum(int pages) {
+        return write("incrementalVacuum", conn -> {
+            int before = freelistCount(conn);
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("PRAGMA incremental_vacuum(" + pages + ")")) {
+                // Each step releases one page, so the statement has to be run to completion
+                while (rs.next()) {
+                    // nothing to read
+                }
+            }
+            return before - freelistCount(conn);
+        });
+    }
+
+    private static int freelistCount(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA freelist_count")) {
+            return rs.next() ? rs.getInt(1) : 0;
         }
     }
 
-    public Report getReportById(int id) {
-        String sql = "SELECT * FROM reports WHERE id = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, id);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return createReportFromResultSet(rs);
+    /**
+     * Appends details from a duplicate report to a report that is still pending.
+     *
+     * @return false if the report no longer exists or has been processed in the meantime
+     */
+    @Override
+    public CompletableFuture<Boolean> mergeReportDetails(int id, String details) {
+        String sql = "UPDATE reports SET details = CASE WHEN details IS NULL OR details = '' THEN ? ELSE "
+                + dialect.concat(dialect.concat("details", "' | '"), "?") + " END WHERE id = ? AND status = ?";
+        return write("mergeReportDetails", conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, details);
+                pstmt.setString(2, details);
+                pstmt.setInt(3, id);
+                pstmt.setObject(4, format.status(ReportStatus.PENDING));
+                return pstmt.executeUpdate() > 0;
+            }
+        }, merged -> {
+            if (merged) {
+                reportCache.invalidate(id);
+            }
+            return merged;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error merging report details: " + e.getMessage());
+            return false;
+        });
+    }
+
+    /**
+     * Counts a player's reports per status. Runs on the writer thread and hands the result to {@code onLoaded}
+     * there, so a cache seeded from it lines up exactly with the change notifications around it.
+     */
+    @Override
+    public CompletableFuture<Void> countReportsByReporterPerStatus(UUID reporterUUID, Consumer<Map<ReportStatus, Integer>> onLoaded) {
+        String sql = "SELECT status, COUNT(*) AS count FROM reports WHERE reporter_uuid = ? GROUP BY status";
+        return write("countReportsByReporterPerStatus", conn -> {
+            Map<ReportStatus, Integer> counts = new EnumMap<>(ReportStatus.class);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setObject(1, format.uuid(reporterUUID));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(format.readStatus(rs, "status"), rs.getInt("count"));
+                    }
+                }
+            }
+            if (archiveEnabled) {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql.replace("FROM reports", "FROM archive.reports"))) {
+                    pstmt.setObject(1, archiveFormat.uuid(reporterUUID));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            counts.merge(archiveFormat.readStatus(rs, "status"), rs.getInt("count"), Integer::sum);
+                        }
+                    }
+                }
+            }
+            return counts;
+        }, counts -> {
+            onLoaded.accept(counts);
+            return (Void) null;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error counting reports by reporter: " + e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Counts reports per reporter name for one status, with no limit. Like
+     * {@link #countReportsByReporterPerStatus}, the result is handed over on the writer thread.
+     */
+    @Override
+    public CompletableFuture<Void> countReportsPerReporterName(ReportStatus status, Consumer<Map<String, Integer>> onLoaded) {
+        String sql = "SELECT reporter_name, COUNT(*) AS count FROM reports WHERE status = ? GROUP BY reporter_name";
+        return write("countReportsPerReporterName", conn -> {
+            Map<String, Integer> counts = new HashMap<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setObject(1, format.status(status));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(rs.getString("reporter_name"), rs.getInt("count"));
+                    }
+                }
+            }
+            if (archiveEnabled) {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql.replace("FROM reports", "FROM archive.reports"))) {
+                    pstmt.setObject(1, archiveFormat.status(status));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            counts.merge(rs.getString("reporter_name"), rs.getInt("count"), Integer::sum);
+                        }
+                    }
+                }
+            }
+            return counts;
+        }, counts -> {
+            onLoaded.accept(counts);
+            return (Void) null;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error counting reports per reporter: " + e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Reads every report submitted at or after {@code since}. Runs on the writer thread like the other cache loads.
+     */
+    @Override
+    public CompletableFuture<Void> getReportsSince(long since, Consumer<List<Report>> onLoaded) {
+        String sql = "SELECT * FROM reports WHERE timestamp >= ? ORDER BY timestamp";
+        return write("getReportsSince", conn -> {
+            List<Report> reports = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setLong(1, since);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        reports.add(createReportFromResultSet(rs));
+                    }
                 }
             }
+            return reports;
+        }, reports -> {
+            onLoaded.accept(reports);
+            return (Void) null;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error loading recent reports: " + e.getMessage());
+            return null;
+        });
+    }
+
+    private void fireChange(Consumer<ReportChangeListener> event) {
+        for (ReportChangeListener listener : changeListeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                plugin.getLogger().severe("Error in report change listener: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Read-through lookup; the returned report is a shared read-only snapshot.
+     */
+    @Override
+    public Report getReportById(int id) {
+        Report journaled = journal != null ? journal.get(id) : null;
+        if (journaled != null) {
+            return journaled;
+        }
+        Report cached = reportCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Report report = read("getReportById", conn -> findReport(conn, id));
+            return report != null ? reportCache.putIfAbsent(report) : null;
         } catch (SQLException e) {
             plugin.getLogger().severe("Error getting report by ID: " + e.getMessage());
         }
         return null;
     }
 
+    @Override
     public List<Report> getReportsByStatus(ReportStatus status) {
         List<Report> reports = new ArrayList<>();
         String sql = "SELECT * FROM reports WHERE status = ? ORDER BY timestamp DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, status.name());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    reports.add(createReportFromResultSet(rs));
+        try {
+            read("getReportsByStatus", conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setObject(1, format.status(status));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            reports.add(createReportFromResultSet(rs));
+                        }
+                    }
                 }
-            }
+                return null;
+            });
         } catch (SQLException e) {
             plugin.getLogger().severe("Error getting reports by status: " + e.getMessage());
         }
         return reports;
     }
 
+    @Override
     public List<Report> getReportsByReporter(UUID reporterUUID) {
         List<Report> reports = new ArrayList<>();
         String sql = "SELECT * FROM reports WHERE reporter_uuid = ? ORDER BY timestamp DESC";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, reporterUUID.toString());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    reports.add(createReportFromResultSet(rs));
+        try {
+            read("getReportsByReporter", conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setObject(1, format.uuid(reporterUUID));
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            reports.add(createReportFromResultSet(rs));
+                        }
+                    }
                 }
-            }
+                if (archiveEnabled) {
+                    // Archived reports are processed and older, but keep the newest-first order strict
+                    try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM archive.reports WHERE reporter_uuid = ? ORDER BY timestamp DESC")) {
+                        pstmt.setObject(1, archiveFormat.uuid(reporterUUID));
+                        try (ResultSet rs = pstmt.executeQuery()) {
+                            while (rs.next()) {
+                                reports.add(createReportFromResultSet(rs, archiveFormat));
+                            }
+                        }
+                    }
+                    reports.sort((a, b) -> Long.compare(b.getTimestamp(), a.getTimestamp()));
+                }
+                return null;
+            });
         } catch (SQLException e) {
             plugin.getLogger().severe("Error getting reports by reporter: " + e.getMessage());
         }
         return reports;
     }
 
-    public Map<String, Integer> getTopReporters(ReportStatus status, int limit) {
-        Map<String, Integer> topReporters = new HashMap<>();
-        String sql = "SELECT reporter_name, COUNT(*) as count FROM reports WHERE status = ? GROUP BY reporter_name ORDER BY count DESC LIMIT ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setString(1, status.name());
-            pstmt.setInt(2, limit);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    topReporters.put(rs.getString("reporter_name"), rs.getInt("count"));
+    /**
+     * Fetches a single page of reports with the given status, newest first.
+     */
+    @Override
+    public List<Report> getReportsByStatusPage(ReportStatus status, int page, int pageSize) {
+        return getReportPage(statusListing(status), "status", format.status(status), page, pageSize);
+    }
+
+    /**
+     * Fetches a single page of the reports submitted by a player, newest first, archived ones included.
+     */
+    @Override
+    public List<Report> getReportsByReporterPage(UUID reporterUUID, int page, int pageSize) {
+        return getReportPage(reporterListing(reporterUUID), "reporter_uuid", format.uuid(reporterUUID),
+                archiveEnabled ? archiveFormat.uuid(reporterUUID) : null, page, pageSize);
+    }
+
+    @Override
+    public int countReportsByStatus(ReportStatus status) {
+        return countReports(statusListing(status), "status", format.status(status));
+    }
+
+    @Override
+    public int countReportsByReporter(UUID reporterUUID) {
+        return countReports(reporterListing(reporterUUID), "reporter_uuid", format.uuid(reporterUUID),
+                archiveEnabled ? archiveFormat.uuid(reporterUUID) : null);
+    }
+
+    /**
+     * Ranked by bm25 through the reports_fts index; only the requested page of ids is joined back to the
+     * reports. Without the index (MySQL) every term is matched with LIKE and the newest reports come first.
+     * Archived reports are not searched.
+     */
+    @Override
+    public List<Report> searchReports(String terms, int page, int pageSize) {
+        List<Report> reports = new ArrayList<>();
+        List<String> words = searchTerms(terms);
+        if (words.isEmpty()) {
+            return reports;
+        }
+        String sql = dialect.hasSearchIndex()
+                ? "SELECT r.* FROM (SELECT rowid, rank FROM reports_fts WHERE reports_fts MATCH ? ORDER BY rank LIMIT ? OFFSET ?) m"
+                        + " JOIN reports r ON r.id = m.rowid ORDER BY m.rank"
+                : "SELECT * FROM reports WHERE " + likeFilter(words.size()) + " ORDER BY timestamp DESC, id DESC LIMIT ? OFFSET ?";
+        try {
+            read("searchReports", conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    int index = bindSearchTerms(pstmt, words);
+                    pstmt.setInt(index++, pageSize);
+                    pstmt.setInt(index, (page - 1) * pageSize);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            reports.add(createReportFromResultSet(rs));
+                        }
+                    }
                 }
+                return null;
+            });
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Error searching reports: " + e.getMessage());
+        }
+        return reports;
+    }
+
+    @Override
+    public int countSearchResults(String terms) {
+        List<String> words = searchTerms(terms);
+        if (words.isEmpty()) {
+            return 0;
+        }
+        String sql = dialect.hasSearchIndex()
+                ? "SELECT COUNT(*) FROM reports_fts WHERE reports_fts MATCH ?"
+                : "SELECT COUNT(*) FROM reports WHERE " + likeFilter(words.size());
+        try {
+            return read("countSearchResults", conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    bindSearchTerms(pstmt, words);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        return rs.next() ? rs.getInt(1) : 0;
+                    }
+                }
+            });
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Error counting search results: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static List<String> searchTerms(String terms) {
+        List<String> words = new ArrayList<>();
+        for (String word : terms.trim().split("\\s+")) {
+            if (!word.replace("*", "").isEmpty()) {
+                words.add(word);
             }
+        }
+        return words;
+    }
+
+    private static String likeFilter(int terms) {
+        StringBuilder filter = new StringBuilder();
+        for (int i = 0; i < terms; i++) {
+            filter.append(i == 0 ? "" : " AND ").append("(reason LIKE ? ESCAPE '!' OR details LIKE ? ESCAPE '!')");
+        }
+        return filter.toString();
+    }
+
+    /**
+     * @return the next parameter index
+     */
+    private int bindSearchTerms(PreparedStatement pstmt, List<String> words) throws SQLException {
+        if (dialect.hasSearchIndex()) {
+            // Each term becomes a quoted FTS5 string, so user input can never be parsed as query syntax
+            StringBuilder match = new StringBuilder();
+            for (String word : words) {
+                boolean prefix = word.endsWith("*");
+                String text = prefix ? word.substring(0, word.length() - 1) : word;
+                match.append(match.length() == 0 ? "" : " ")
+                        .append('"').append(text.replace("\"", "\"\"")).append('"')
+                        .append(prefix ? "*" : "");
+            }
+            pstmt.setString(1, match.toString());
+            return 2;
+        }
+        int index = 1;
+        for (String word : words) {
+            String text = word.endsWith("*") ? word.substring(0, word.length() - 1) : word;
+            String pattern = "%" + text.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+            pstmt.setString(index++, pattern);
+            pstmt.setString(index++, pattern);
+        }
+        return index;
+    }
+
+    private List<Report> getReportPage(String listing, String filterColumn, Object filterValue, int page, int pageSize) {
+        return getReportPage(listing, filterColumn, filterValue, null, page, pageSize);
+    }
+
+    /**
+     * @param archiveFilterValue {@code filterValue} in the archive's storage format to page through the live and
+     *                           archived reports together, or null for the live table only
+     */
+    private List<Report> getReportPage(String listing, String filterColumn, Object filterValue, Object archiveFilterValue,
+                                       int page, int pageSize) {
+        List<Report> reports = new ArrayList<>();
+        long generation = pageCursors.generation(listing);
+        // Seek from the end of the closest page we've already seen; only pages never visited fall back to OFFSET
+        PageCursorCache.Cursor cursor = pageCursors.nearestBefore(listing, page, pageSize);
+        int skip = (page - 1 - (cursor != null ? cursor.page : 0)) * pageSize;
+        String where = " WHERE " + filterColumn + " = ?" + (cursor != null ? " AND (timestamp, id) < (?, ?)" : "");
+        String sql = archiveFilterValue == null
+                ? "SELECT * FROM reports" + where + " ORDER BY timestamp DESC, id DESC LIMIT ? OFFSET ?"
+                // Archived rows keep their ids, so the cursor stays unique across both tables
+                : "SELECT " + REPORT_COLUMNS + ", 0 AS archived FROM reports" + where
+                        + " UNION ALL SELECT " + REPORT_COLUMNS + ", 1 AS archived FROM archive.reports" + where
+                        + " ORDER BY timestamp DESC, id DESC LIMIT ? OFFSET ?";
+        try {
+            read("getReportPage", conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    for (Object value : archiveFilterValue == null ? new Object[]{filterValue} : new Object[]{filterValue, archiveFilterValue}) {
+                        pstmt.setObject(index++, value);
+                        if (cursor != null) {
+                            pstmt.setLong(index++, cursor.timestamp);
+                            pstmt.setInt(index++, cursor.id);
+                        }
+                    }
+                    pstmt.setInt(index++, pageSize);
+                    pstmt.setInt(index, skip);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            boolean archived = archiveFilterValue != null && rs.getInt("archived") == 1;
+                            reports.add(createReportFromResultSet(rs, archived ? archiveFormat : format));
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Error getting report page: " + e.getMessage());
+        }
+
+        if (reports.size() == pageSize) {
+            Report last = reports.get(reports.size() - 1);
+            pageCursors.putCursor(listing, generation, pageSize, new PageCursorCache.Cursor(page, last.getTimestamp(), last.getId()));
+        }
+        return reports;
+    }
+
+    private int countReports(String listing, String filterColumn, Object filterValue) {
+        return countReports(listing, filterColumn, filterValue, null);
+    }
+
+    /**
+     * @param archiveFilterValue as for {@link #getReportPage(String, String, Object, Object, int, int)}
+     */
+    private int countReports(String listing, String filterColumn, Object filterValue, Object archiveFilterValue) {
+        long generation = pageCursors.generation(listing);
+        Integer cached = pageCursors.getCount(listing);
+        if (cached != null) {
+            return cached;
+        }
+        String sql = archiveFilterValue == null
+                ? "SELECT COUNT(*) FROM reports WHERE " + filterColumn + " = ?"
+                : "SELECT (SELECT COUNT(*) FROM reports WHERE " + filterColumn + " = ?)"
+                        + " + (SELECT COUNT(*) FROM archive.reports WHERE " + filterColumn + " = ?)";
+        try {
+            int count = read("countReports", conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setObject(1, filterValue);
+                    if (archiveFilterValue != null) {
+                        pstmt.setObject(2, archiveFilterValue);
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        return rs.next() ? rs.getInt(1) : 0;
+                    }
+                }
+            });
+            pageCursors.putCount(listing, generation, count);
+            return count;
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Error counting reports: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    private static String statusListing(ReportStatus status) {
+        return "status:" + status.name();
+    }
+
+    private static String reporterListing(UUID reporterUUID) {
+        return "reporter:" + reporterUUID;
+    }
+
+    @Override
+    public Map<String, Integer> getTopReporters(ReportStatus status, int limit) {
+        Map<String, Integer> topReporters = new LinkedHashMap<>(); // Keeps rank order
+        String source = archiveEnabled
+                ? "(SELECT reporter_name FROM reports WHERE status = ? UNION ALL SELECT reporter_name FROM archive.reports WHERE status = ?)"
+                : "reports WHERE status = ?";
+        String sql = "SELECT reporter_name, COUNT(*) as count FROM " + source + " GROUP BY reporter_name ORDER BY count DESC LIMIT ?";
+        try {
+            read("getTopReporters", conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    pstmt.setObject(index++, format.status(status));
+                    if (archiveEnabled) {
+                        pstmt.setObject(index++, archiveFormat.status(status));
+                    }
+                    pstmt.setInt(index, limit);
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            topReporters.put(rs.getString("reporter_name"), rs.getInt("count"));
+                        }
+                    }
+                }
+                return null;
+            });
         } catch (SQLException e) {
             plugin.getLogger().severe("Error getting top reporters: " + e.getMessage());
         }
         return topReporters;
     }
 
+    /**
+     * Looks the report up in the live table, then in the archive.
+     */
+    private Report findReport(Connection conn, int id) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM reports WHERE id = ?")) {
+            pstmt.setInt(1, id);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return createReportFromResultSet(rs);
+                }
+            }
+        }
+        if (archiveEnabled) {
+            try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM archive.reports WHERE id = ?")) {
+                pstmt.setInt(1, id);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        return createReportFromResultSet(rs, archiveFormat);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
     private Report createReportFromResultSet(ResultSet rs) throws SQLException {
-        UUID adminUUID = rs.getString("admin_uuid") != null ? UUID.fromString(rs.getString("admin_uuid")) : null;
+        return createReportFromResultSet(rs, format);
+    }
+
+    // Package-private for ResultSetMappingBenchmark
+    static Report createReportFromResultSet(ResultSet rs, StorageFormat format) throws SQLException {
         return new Report(
                 rs.getInt("id"),
-                UUID.fromString(rs.getString("reporter_uuid")),
+                format.readUuid(rs, "reporter_uuid"),
                 rs.getString("reporter_name"),
-                UUID.fromString(rs.getString("reported_uuid")),
+                format.readUuid(rs, "reported_uuid"),
                 rs.getString("reported_name"),
                 rs.getString("reason"),
                 rs.getString("details"),
                 rs.getLong("timestamp"),
-                ReportStatus.valueOf(rs.getString("status")),
-                adminUUID,
+                format.readStatus(rs, "status"),
+                format.readUuid(rs, "admin_uuid"),
                 rs.getString("admin_name"),
-                rs.getString("rejection_reason")
+                rs.getString("rejection_reason"),
+                rs.getLong("processed_at")
         );
     }
 }
@@ -0,0 +1,230 @@
+package com.manus.quickreport.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Single writer thread that owns the write connection. Queued operations are grouped
+ * into one transaction per flush window, so a wave of reports costs one commit instead of one each.
+ * With a pooled database the connection is borrowed for each batch, so a dropped connection only fails one batch.
+ */
+public class DatabaseWriter {
+
+    @FunctionalInterface
+    public interface WriteOperation<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Where each batch gets its connection. SQLite keeps one open for the writer's lifetime.
+     */
+    public interface ConnectionSource {
+        Connection borrow() throws SQLException;
+
+        default void release(Connection connection) throws SQLException {
+            // The connection stays open for the next batch
+        }
+    }
+
+    private static final class PendingWrite<T> {
+        private final WriteOperation<T> operation;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private PendingWrite(WriteOperation<T> operation) {
+            this.operation = operation;
+        }
+    }
+
+    private final Logger logger;
+    private final ConnectionSource connections;
+    private final BlockingQueue<PendingWrite<?>> queue;
+    private final int maxBatchSize;
+    private final long flushIntervalMillis;
+    private final Thread thread;
+
+    private volatile boolean accepting = true;
+    private volatile boolean running = true;
+
+    public DatabaseWriter(Logger logger, Connection connection, int queueCapacity, int maxBatchSize, long flushIntervalMillis) {
+        this(logger, () -> connection, queueCapacity, maxBatchSize, flushIntervalMillis);
+    }
+
+    public DatabaseWriter(Logger logger, ConnectionSource connections, int queueCapacity, int maxBatchSize, long flushIntervalMillis) {
+        this.logger = logger;
+        this.connections = connections;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushIntervalMillis = Math.max(0, flushIntervalMillis);
+        this.thread = new Thread(this::run, "QuickReport-DB-Writer");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public <T> CompletableFuture<T> submit(WriteOperation<T> operation) {
+        return submit(operation, Function.identity());
+    }
+
+    /**
+     * Queues a write and attaches {@code afterCommit} before it can run, so the callback always executes
+     * on the writer thread right after the commit, in the same order as the writes themselves.
+     */
+    public <T, R> CompletableFuture<R> submit(WriteOperation<T> operation, Function<T, R> afterCommit) {
+        PendingWrite<T> write = new PendingWrite<>(operation);
+        CompletableFuture<R> result = write.future.thenApply(afterCommit);
+        if (!accepting) {
+            write.future.completeExceptionally(new RejectedExecutionException("Database writer is shut down"));
+        } else if (!queue.offer(write)) {
+            write.future.completeExceptionally(new RejectedExecutionException("Database write queue is full"));
+        } else if (!accepting && queue.remove(write)) {
+            // Shut down between the check and the offer; the writer may already have made its last pass
+            write.future.completeExceptionally(new RejectedExecutionException("Database writer is shut down"));
+        }
+        return result;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting new writes and blocks until everything already queued has been committed.
+     */
+    public void shutdown(long timeoutMillis) {
+        accepting = false;
+        running = false;
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            logger.warning("Database writer did not finish within " + timeoutMillis + "ms, " + queue.size() + " writes were dropped.");
+        }
+    }
+
+    private void run() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite<?> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collectBatch(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        // Anything still queued (interrupted, or offered after the last poll) would otherwise never complete
+        PendingWrite<?> leftover;
+        while ((leftover = queue.poll()) != null) {
+            leftover.future.completeExceptionally(new RejectedExecutionException("Database writer is shut down"));
+        }
+    }
+
+    private void collectBatch(List<PendingWrite<?>> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0 || !running) {
+                return;
+            }
+            PendingWrite<?> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingWrite<?>> batch) {
+        Connection connection;
+        try {
+            connection = connections.borrow();
+        } catch (SQLException e) {
+            logger.severe("Error getting a connection for a database write batch: " + e.getMessage());
+            for (PendingWrite<?> write : batch) {
+                write.future.completeExceptionally(e);
+            }
+            return;
+        }
+        try {
+            flush(connection, batch);
+        } finally {
+            try {
+                connections.release(connection);
+            } catch (SQLException e) {
+                logger.warning("Error releasing the database write connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private void flush(Connection connection, List<PendingWrite<?>> batch) {
+        List<Object> results = new ArrayList<>(batch.size());
+        List<SQLException> failures = new ArrayList<>(batch.size());
+        try {
+            connection.setAutoCommit(false);
+            for (PendingWrite<?> write : batch) {
+                // Each write gets its own savepoint so one bad statement doesn't sink the whole group.
+                Savepoint savepoint = connection.setSavepoint();
+                Object result;
+                try {
+                    result = write.operation.execute(connection);
+                    connection.releaseSavepoint(savepoint);
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback(savepoint);
+                    results.add(null);
+                    failures.add(e instanceof SQLException ? (SQLException) e : new SQLException(e));
+                    continue;
+                }
+                results.add(result);
+                failures.add(null);
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            logger.severe("Error committing database write batch: " + e.getMessage());
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                logger.severe("Error rolling back database write batch: " + rollbackError.getMessage());
+            }
+            for (PendingWrite<?> write : batch) {
+                write.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            complete(batch.get(i), results.get(i), failures.get(i));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void complete(PendingWrite<T> write, Object result, SQLException failure) {
+        if (failure != null) {
+            write.future.completeExceptionally(failure);
+        } else {
+            write.future.complete((T) result);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.manus.quickreport.database;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Pooled connections to a database server (MySQL/MariaDB, or H2 in the tests). Serves the reads and
+ * lends the writer thread a connection for each batch.
+ */
+public class HikariConnectionPool implements ConnectionPool, DatabaseWriter.ConnectionSource {
+
+    private final HikariDataSource dataSource;
+
+    /**
+     * @param properties extra driver properties, applied after the defaults
+     */
+    public HikariConnectionPool(String url, String driverClass, String username, String password, int size,
+                                long connectionTimeoutMillis, Map<String, Object> properties) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("QuickReport");
+        config.setJdbcUrl(url);
+        if (driverClass != null && !driverClass.isEmpty()) {
+            config.setDriverClassName(driverClass);
+        }
+        config.setUsername(username);
+        config.setPassword(password);
+        // The writer holds one connection per batch, so keep at least one free for reads
+        config.setMaximumPoolSize(Math.max(2, size));
+        config.setConnectionTimeout(connectionTimeoutMillis);
+        if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+            // Statement caching in the driver, and batched INSERT/UPDATEs sent as one multi-row statement
+            config.addDataSourceProperty("cachePrepStmts", "true");
+            config.addDataSourceProperty("prepStmtCacheSize", "250");
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+            config.addDataSourceProperty("useServerPrepStmts", "true");
+            config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        }
+        properties.forEach(config::addDataSourceProperty);
+        this.dataSource = new HikariDataSource(config);
+    }
+
+    @Override
+    public <T> T execute(ReadConnectionPool.ReadOperation<T> operation) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return operation.execute(connection);
+        }
+    }
+
+    @Override
+    public Connection borrow() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    @Override
+    public void release(Connection connection) throws SQLException {
+        connection.close();
+    }
+
+    @Override
+    public int getSize() {
+        return dataSource.getMaximumPoolSize();
+    }
+
+    @Override
+    public int getIdleCount() {
+        return dataSource.getHikariPoolMXBean().getIdleConnections();
+    }
+
+    @Override
+    public void close() {
+        dataSource.close();
+    }
+}
@@ -0,0 +1,671 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.QuickReport;
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportSnapshot;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps every report in memory, for servers that see a high report volume and never query it with SQL.
+ * Reports are stored as read-only snapshots in an array indexed by id, with one id bitset per status,
+ * an id list per reporter and per-status counters, so every lookup, page and leaderboard is answered
+ * without scanning all reports. Writes run on one thread, are appended to a {@link ReportLog} before
+ * they become visible, and the log is compacted into a snapshot on an interval.
+ */
+public class MemoryReportRepository implements ReportRepository {
+
+    /** Growable int array, so the per-reporter indexes don't box their ids. */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private static final class SnapshotPoint {
+        private final long segment;
+        private final Report[] reports;
+
+        private SnapshotPoint(long segment, Report[] reports) {
+            this.segment = segment;
+            this.reports = reports;
+        }
+    }
+
+    private final QuickReport plugin;
+    private final File directory;
+    private final List<ReportChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+
+    // Guarded by lock; only the writer thread modifies them
+    private Report[] reports = new Report[1024];
+    private int maxId;
+    private final BitSet[] idsByStatus = new BitSet[ReportStatus.values().length];
+    private final int[] countByStatus = new int[ReportStatus.values().length];
+    private final Map<UUID, IntList> idsByReporter = new HashMap<>();
+    private final Map<UUID, int[]> countsByReporter = new HashMap<>();
+    private final Map<String, int[]> countsByReporterName = new HashMap<>();
+
+    private ExecutorService writer;
+    private ReportLog log;
+    // Writer thread only
+    private int writesSinceSnapshot;
+
+    public MemoryReportRepository(QuickReport plugin) {
+        this.plugin = plugin;
+        this.directory = new File(plugin.getDataFolder(), plugin.getConfig().getString("storage.memory.directory", "memory-store"));
+        for (int i = 0; i < idsByStatus.length; i++) {
+            idsByStatus[i] = new BitSet();
+        }
+    }
+
+    @Override
+    public boolean connect() {
+        long segmentMaxBytes = Math.max(1, plugin.getConfig().getLong("storage.memory.segment-max-mb", 16)) * 1024 * 1024;
+        this.log = new ReportLog(directory, plugin.getLogger(), segmentMaxBytes, plugin.getConfig().getBoolean("storage.memory.fsync", false));
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "QuickReport-Memory-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        return true;
+    }
+
+    @Override
+    public boolean initialize() {
+        try {
+            int replayed = write(() -> {
+                try {
+                    return log.recover(this::apply);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }).join();
+            plugin.getLogger().info("Loaded " + totalReports() + " reports from " + directory.getName()
+                    + " (" + replayed + " log records replayed).");
+        } catch (CompletionException e) {
+            plugin.getLogger().severe("Error loading reports from " + directory + ": " + e.getCause().getMessage());
+            return false;
+        }
+        long intervalTicks = Math.max(1, plugin.getConfig().getLong("storage.memory.snapshot-interval-minutes", 10)) * 60 * 20;
+        plugin.getTaskScheduler().runAsyncTimer(this::snapshot, intervalTicks, intervalTicks);
+        return true;
+    }
+
+    private int totalReports() {
+        int total = 0;
+        for (int count : countByStatus) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public void drainWrites() {
+        if (writer == null || writer.isShutdown()) {
+            return;
+        }
+        writer.shutdown();
+        long timeout = plugin.getConfig().getLong("database.writer-shutdown-timeout-ms", 10000);
+        try {
+            if (!writer.awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+                plugin.getLogger().warning("Report writer did not finish within " + timeout + "ms.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void disconnect() {
+        drainWrites();
+        if (log == null) {
+            return;
+        }
+        if (writer != null && !writer.isTerminated()) {
+            // The writer still owns the log; touching it from here could interleave with its appends
+            plugin.getLogger().warning("Skipping the final report snapshot because the writer is still running; the log is replayed on the next start.");
+            return;
+        }
+        if (!snapshotting.compareAndSet(false, true)) {
+            plugin.getLogger().warning("Skipping the final report snapshot because a snapshot is still being written.");
+            closeLog();
+            return;
+        }
+        try {
+            // The writer is stopped, so this thread now owns the log; a final snapshot keeps the next startup short
+            if (writesSinceSnapshot > 0) {
+                long seq = log.roll();
+                log.writeSnapshot(seq, copyReports());
+            }
+        } catch (IOException e) {
+            plugin.getLogger().severe("Error writing the final report snapshot: " + e.getMessage());
+        } finally {
+            snapshotting.set(false);
+        }
+        closeLog();
+    }
+
+    private void closeLog() {
+        try {
+            log.close();
+            plugin.getLogger().info("Report store closed.");
+        } catch (IOException e) {
+            plugin.getLogger().severe("Error closing report store: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void addChangeListener(ReportChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    @Override
+    public CompletableFuture<Integer> saveReport(Report report) {
+        return write(() -> {
+            Report saved = ReportSnapshot.of(new Report(maxId + 1, report.getReporterUUID(), report.getReporterName(),
+                    report.getReportedUUID(), report.getReportedName(), report.getReason(), report.getDetails(),
+                    report.getTimestamp(), report.getStatus(), report.getAdminUUID(), report.getAdminName(),
+                    report.getRejectionReason(), report.getProcessedAt()));
+            persist(saved);
+            fireChange(listener -> listener.onReportSaved(saved));
+            return saved.getId();
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error saving report: " + e.getMessage());
+            return -1;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> mergeReportDetails(int id, String details) {
+        return write(() -> {
+            Report current = find(id);
+            if (current == null || current.getStatus() != ReportStatus.PENDING) {
+                return false;
+            }
+            String merged = current.getDetails() == null || current.getDetails().isEmpty() ? details : current.getDetails() + " | " + details;
+            persist(copy(current, merged, current.getStatus(), current.getAdminUUID(), current.getAdminName(),
+                    current.getRejectionReason(), current.getProcessedAt()));
+            return true;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error merging duplicate report: " + e.getMessage());
+            return false;
+        });
+    }
+
+    @Override
+    public CompletableFuture<StatusTransition> transitionReportStatus(int id, ReportStatus expected, ReportStatus status,
+                                                                      UUID adminUUID, String adminName, String rejectionReason) {
+        return write(() -> {
+            Report current = find(id);
+            if (current == null) {
+                return new StatusTransition(StatusTransition.Result.NOT_FOUND, null);
+            }
+            if (current.getStatus() != expected) {
+                return new StatusTransition(StatusTransition.Result.CONFLICT, current);
+            }
+            Report updated = copy(current, current.getDetails(), status, adminUUID, adminName, rejectionReason, System.currentTimeMillis());
+            persist(updated);
+            fireChange(listener -> listener.onStatusChanged(updated, expected));
+            return new StatusTransition(StatusTransition.Result.APPLIED, updated);
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error updating report status: " + e.getMessage());
+            return new StatusTransition(StatusTransition.Result.FAILED, null);
+        });
+    }
+
+    @Override
+    public CompletableFuture<List<Report>> transitionReportStatuses(ReportSelector selector, ReportStatus expected, ReportStatus status,
+                                                                    UUID adminUUID, String adminName, String rejectionReason, int limit) {
+        return write(() -> {
+            List<Report> applied = new ArrayList<>();
+            long processedAt = System.currentTimeMillis();
+            BitSet candidates = idsByStatus[expected.ordinal()];
+            for (int id = candidates.nextSetBit(0); id >= 0 && applied.size() < limit; id = candidates.nextSetBit(id + 1)) {
+                Report current = reports[id];
+                if (selector.matches(current)) {
+                    applied.add(copy(current, current.getDetails(), status, adminUUID, adminName, rejectionReason, processedAt));
+                }
+            }
+            if (applied.isEmpty()) {
+                return applied;
+            }
+            try {
+                for (Report report : applied) {
+                    log.append(report);
+                }
+                log.flush();
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            lock.writeLock().lock();
+            try {
+                for (Report report : applied) {
+                    apply(report);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            writesSinceSnapshot += applied.size();
+            for (Report report : applied) {
+                fireChange(listener -> listener.onStatusChanged(report, expected));
+            }
+            return applied;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error updating report statuses: " + e.getMessage());
+            return null;
+        });
+    }
+
+    @Override
+    public Report getReportById(int id) {
+        lock.readLock().lock();
+        try {
+            return find(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Report> getReportsByStatus(ReportStatus status) {
+        lock.readLock().lock();
+        try {
+            BitSet ids = idsByStatus[status.ordinal()];
+            List<Report> result = new ArrayList<>(countByStatus[status.ordinal()]);
+            for (int id = ids.previousSetBit(maxId); id >= 0; id = ids.previousSetBit(id - 1)) {
+                result.add(reports[id]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Report> getReportsByReporter(UUID reporterUUID) {
+        lock.readLock().lock();
+        try {
+            IntList ids = idsByReporter.get(reporterUUID);
+            List<Report> result = new ArrayList<>(ids != null ? ids.size() : 0);
+            for (int i = ids != null ? ids.size() - 1 : -1; i >= 0; i--) {
+                result.add(reports[ids.get(i)]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Report> getReportsByStatusPage(ReportStatus status, int page, int pageSize) {
+        lock.readLock().lock();
+        try {
+            BitSet ids = idsByStatus[status.ordinal()];
+            List<Report> result = new ArrayList<>(pageSize);
+            int skip = (page - 1) * pageSize;
+            // Newest first is highest id first; skipping walks the bitset a word at a time
+            for (int id = ids.previousSetBit(maxId); id >= 0 && result.size() < pageSize; id = ids.previousSetBit(id - 1)) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    result.add(reports[id]);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Report> getReportsByReporterPage(UUID reporterUUID, int page, int pageSize) {
+        lock.readLock().lock();
+        try {
+            IntList ids = idsByReporter.get(reporterUUID);
+            List<Report> result = new ArrayList<>(pageSize);
+            if (ids == null) {
+                return result;
+            }
+            int from = ids.size() - 1 - (page - 1) * pageSize;
+            for (int i = from; i >= 0 && i > from - pageSize; i--) {
+                result.add(reports[ids.get(i)]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countReportsByStatus(ReportStatus status) {
+        lock.readLock().lock();
+        try {
+            return countByStatus[status.ordinal()];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countReportsByReporter(UUID reporterUUID) {
+        lock.readLock().lock();
+        try {
+            IntList ids = idsByReporter.get(reporterUUID);
+            return ids != null ? ids.size() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * There is no text index here: every report is scanned, newest first.
+     */
+    @Override
+    public List<Report> searchReports(String terms, int page, int pageSize) {
+        String[] words = searchTerms(terms);
+        List<Report> result = new ArrayList<>(pageSize);
+        if (words.length == 0) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            int skip = (page - 1) * pageSize;
+            for (int id = maxId; id > 0 && result.size() < pageSize; id--) {
+                Report report = reports[id];
+                if (report != null && matches(report, words)) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        result.add(report);
+                    }
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int countSearchResults(String terms) {
+        String[] words = searchTerms(terms);
+        if (words.length == 0) {
+            return 0;
+        }
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (int id = 1; id <= maxId; id++) {
+                if (reports[id] != null && matches(reports[id], words)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the lower-cased terms, without the trailing {@code *} (a substring match covers prefixes)
+     */
+    private static String[] searchTerms(String terms) {
+        List<String> words = new ArrayList<>();
+        for (String word : terms.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            String text = word.replace("*", "");
+            if (!text.isEmpty()) {
+                words.add(text);
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static boolean matches(Report report, String[] words) {
+        String reason = report.getReason().toLowerCase(Locale.ROOT);
+        String details = report.getDetails() != null ? report.getDetails().toLowerCase(Locale.ROOT) : "";
+        for (String word : words) {
+            if (!reason.contains(word) && !details.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Map<String, Integer> getTopReporters(ReportStatus status, int limit) {
+        lock.readLock().lock();
+        try {
+            int index = status.ordinal();
+            // Min-heap of the best {@code limit} so far
+            PriorityQueue<Map.Entry<String, int[]>> top = new PriorityQueue<>(
+                    Math.max(1, limit), (a, b) -> Integer.compare(a.getValue()[index], b.getValue()[index]));
+            for (Map.Entry<String, int[]> entry : countsByReporterName.entrySet()) {
+                if (entry.getValue()[index] == 0) {
+                    continue;
+                }
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<String, int[]>> ranked = new ArrayList<>(top);
+            ranked.sort((a, b) -> Integer.compare(b.getValue()[index], a.getValue()[index]));
+            Map<String, Integer> topReporters = new LinkedHashMap<>(); // Keeps rank order
+            for (Map.Entry<String, int[]> entry : ranked) {
+                topReporters.put(entry.getKey(), entry.getValue()[index]);
+            }
+            return topReporters;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // The cache loads run on the writer thread, which owns the indexes, so they read them without the lock
+
+    @Override
+    public CompletableFuture<Void> countReportsByReporterPerStatus(UUID reporterUUID, Consumer<Map<ReportStatus, Integer>> onLoaded) {
+        return write(() -> {
+            Map<ReportStatus, Integer> counts = new EnumMap<>(ReportStatus.class);
+            int[] byStatus = countsByReporter.get(reporterUUID);
+            if (byStatus != null) {
+                for (ReportStatus status : ReportStatus.values()) {
+                    counts.put(status, byStatus[status.ordinal()]);
+                }
+            }
+            onLoaded.accept(counts);
+            return (Void) null;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error counting reports by reporter: " + e.getMessage());
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> countReportsPerReporterName(ReportStatus status, Consumer<Map<String, Integer>> onLoaded) {
+        return write(() -> {
+            Map<String, Integer> counts = new HashMap<>();
+            for (Map.Entry<String, int[]> entry : countsByReporterName.entrySet()) {
+                int count = entry.getValue()[status.ordinal()];
+                if (count > 0) {
+                    counts.put(entry.getKey(), count);
+                }
+            }
+            onLoaded.accept(counts);
+            return (Void) null;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error counting reports per reporter: " + e.getMessage());
+            return null;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> getReportsSince(long since, Consumer<List<Report>> onLoaded) {
+        return write(() -> {
+            List<Report> recent = new ArrayList<>();
+            for (int id = 1; id <= maxId; id++) {
+                Report report = reports[id];
+                if (report != null && report.getTimestamp() >= since) {
+                    recent.add(report);
+                }
+            }
+            recent.sort((a, b) -> Long.compare(a.getTimestamp(), b.getTimestamp()));
+            onLoaded.accept(recent);
+            return (Void) null;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Error loading recent reports: " + e.getMessage());
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> write(Supplier<T> operation) {
+        try {
+            return CompletableFuture.supplyAsync(operation, writer);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Report writer is shut down"));
+        }
+    }
+
+    /**
+     * Appends the report to the log, then makes it visible. Writer thread only.
+     */
+    private void persist(Report report) {
+        try {
+            log.append(report);
+            log.flush();
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+        lock.writeLock().lock();
+        try {
+            apply(report);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        writesSinceSnapshot++;
+    }
+
+    /**
+     * Stores the new image of a report and moves it between the indexes. Used for live writes and for replay.
+     */
+    private void apply(Report report) {
+        int id = report.getId();
+        if (id >= reports.length) {
+            reports = Arrays.copyOf(reports, Math.max(reports.length * 2, id + 1));
+        }
+        Report previous = reports[id];
+        Report stored = ReportSnapshot.of(report);
+        reports[id] = stored;
+        maxId = Math.max(maxId, id);
+
+        int status = stored.getStatus().ordinal();
+        if (previous == null) {
+            idsByReporter.computeIfAbsent(stored.getReporterUUID(), uuid -> new IntList()).add(id);
+        } else {
+            int old = previous.getStatus().ordinal();
+            idsByStatus[old].clear(id);
+            countByStatus[old]--;
+            countsByReporter.get(previous.getReporterUUID())[old]--;
+            countsByReporterName.get(previous.getReporterName())[old]--;
+        }
+        idsByStatus[status].set(id);
+        countByStatus[status]++;
+        countsByReporter.computeIfAbsent(stored.getReporterUUID(), uuid -> new int[countByStatus.length])[status]++;
+        countsByReporterName.computeIfAbsent(stored.getReporterName(), name -> new int[countByStatus.length])[status]++;
+    }
+
+    private Report find(int id) {
+        return id > 0 && id <= maxId ? reports[id] : null;
+    }
+
+    private static Report copy(Report report, String details, ReportStatus status, UUID adminUUID, String adminName,
+                               String rejectionReason, long processedAt) {
+        return ReportSnapshot.of(new Report(report.getId(), report.getReporterUUID(), report.getReporterName(),
+                report.getReportedUUID(), report.getReportedName(), report.getReason(), details, report.getTimestamp(),
+                status, adminUUID, adminName, rejectionReason, processedAt));
+    }
+
+    private Report[] copyReports() {
+        return Arrays.copyOf(reports, maxId + 1);
+    }
+
+    /**
+     * Starts a new segment on the writer thread, then writes the state as of that point off it and drops the
+     * segments the snapshot replaces. Skipped when nothing was written since the last one.
+     */
+    private void snapshot() {
+        if (!snapshotting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            SnapshotPoint point = write(() -> {
+                if (writesSinceSnapshot == 0) {
+                    return (SnapshotPoint) null;
+                }
+                try {
+                    long seq = log.roll();
+                    writesSinceSnapshot = 0;
+                    return new SnapshotPoint(seq, copyReports());
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }).join();
+            if (point != null) {
+                log.writeSnapshot(point.segment, point.reports);
+            }
+        } catch (CompletionException | IOException e) {
+            plugin.getLogger().severe("Error writing report snapshot: " + (e instanceof CompletionException ? e.getCause() : e).getMessage());
+        } finally {
+            snapshotting.set(false);
+        }
+    }
+
+    private void fireChange(Consumer<ReportChangeListener> event) {
+        for (ReportChangeListener listener : changeListeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                plugin.getLogger().severe("Error in report change listener: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.manus.quickreport.database;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Remembers where each listing page ended (its last timestamp/id) and the row count of each listing,
+ * so the next page can be fetched with a keyset seek instead of an OFFSET scan.
+ * Entries are dropped whenever a write changes the listing they belong to.
+ */
+class PageCursorCache {
+
+    static final class Cursor {
+        final int page;
+        final long timestamp;
+        final int id;
+
+        Cursor(int page, long timestamp, int id) {
+            this.page = page;
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+    }
+
+    private static final class Listing {
+        private long generation;
+        private Integer count;
+        private final Map<Integer, TreeMap<Integer, Cursor>> cursorsByPageSize = new HashMap<>();
+    }
+
+    private final int maxCursorsPerListing;
+    private final Map<String, Listing> listings;
+    private long nextGeneration;
+
+    PageCursorCache(int maxListings, int maxCursorsPerListing) {
+        this.maxCursorsPerListing = maxCursorsPerListing;
+        this.listings = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Listing> eldest) {
+                return size() > maxListings;
+            }
+        };
+    }
+
+    /**
+     * Stamp to pass back to the put methods; results computed before an invalidation are then discarded.
+     */
+    synchronized long generation(String key) {
+        return listing(key).generation;
+    }
+
+    /**
+     * @return the cursor at the end of the closest cached page before {@code page}, or null to start from the top
+     */
+    synchronized Cursor nearestBefore(String key, int page, int pageSize) {
+        TreeMap<Integer, Cursor> cursors = listing(key).cursorsByPageSize.get(pageSize);
+        if (cursors == null) {
+            return null;
+        }
+        Map.Entry<Integer, Cursor> entry = cursors.lowerEntry(page);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    synchronized void putCursor(String key, long generation, int pageSize, Cursor cursor) {
+        Listing listing = listing(key);
+        if (listing.generation != generation) {
+            return;
+        }
+        TreeMap<Integer, Cursor> cursors = listing.cursorsByPageSize.computeIfAbsent(pageSize, size -> new TreeMap<>());
+        cursors.put(cursor.page, cursor);
+        if (cursors.size() > maxCursorsPerListing) {
+            cursors.pollLastEntry();
+        }
+    }
+
+    synchronized Integer getCount(String key) {
+        return listing(key).count;
+    }
+
+    synchronized void putCount(String key, long generation, int count) {
+        Listing listing = listing(key);
+        if (listing.generation == generation) {
+            listing.count = count;
+        }
+    }
+
+    synchronized void invalidate(String key) {
+        Listing listing = listings.get(key);
+        if (listing != null) {
+            listing.generation = ++nextGeneration;
+            listing.count = null;
+            listing.cursorsByPageSize.clear();
+        }
+    }
+
+    /**
+     * Drops every cached cursor and count, e.g. after rows were moved out of the table.
+     */
+    synchronized void invalidateAll() {
+        for (String key : listings.keySet()) {
+            invalidate(key);
+        }
+    }
+
+    private Listing listing(String key) {
+        return listings.computeIfAbsent(key, k -> {
+            Listing listing = new Listing();
+            listing.generation = ++nextGeneration;
+            return listing;
+        });
+    }
+}
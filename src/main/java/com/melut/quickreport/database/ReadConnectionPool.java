@@ -0,0 +1,107 @@
+package com.manus.quickreport.database;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small fixed pool of query-only connections. In WAL mode these read the last committed
+ * snapshot without waiting for the writer thread.
+ */
+public class ReadConnectionPool implements ConnectionPool {
+
+    @FunctionalInterface
+    public interface ReadOperation<T> {
+        T execute(Connection connection) throws SQLException;
+    }
+
+    private final BlockingQueue<Connection> idle;
+    private final List<Connection> all;
+    private final long borrowTimeoutMillis;
+
+    public ReadConnectionPool(String url, int size, int busyTimeoutMillis, long borrowTimeoutMillis) throws SQLException {
+        this(url, size, busyTimeoutMillis, borrowTimeoutMillis, Collections.emptyMap());
+    }
+
+    /**
+     * @param attachments schema name -> database file to ATTACH on every connection, e.g. the report archive
+     */
+    public ReadConnectionPool(String url, int size, int busyTimeoutMillis, long borrowTimeoutMillis, Map<String, String> attachments) throws SQLException {
+        int poolSize = Math.max(1, size);
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        this.all = new ArrayList<>(poolSize);
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                Connection connection = DriverManager.getConnection(url);
+                all.add(connection);
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+                    stmt.execute("PRAGMA query_only = ON");
+                }
+                for (Map.Entry<String, String> attachment : attachments.entrySet()) {
+                    try (PreparedStatement pstmt = connection.prepareStatement("ATTACH DATABASE ? AS " + attachment.getKey())) {
+                        pstmt.setString(1, attachment.getValue());
+                        pstmt.execute();
+                    }
+                }
+                idle.add(connection);
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> T execute(ReadOperation<T> operation) throws SQLException {
+        Connection connection;
+        try {
+            connection = idle.poll(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a read connection", e);
+        }
+        if (connection == null) {
+            throw new SQLException("Timed out waiting for a read connection after " + borrowTimeoutMillis + "ms");
+        }
+        try {
+            return operation.execute(connection);
+        } finally {
+            idle.offer(connection);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return all.size();
+    }
+
+    @Override
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        for (Connection connection : all) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Closing on shutdown, nothing left to do with the error
+            }
+        }
+        all.clear();
+        idle.clear();
+    }
+}
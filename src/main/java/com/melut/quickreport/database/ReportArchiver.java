@@ -0,0 +1,80 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.QuickReport;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Periodically moves processed reports older than {@code archive.after-days} into reports-archive.db.
+ * Each batch is its own short write, with a pause in between, so queued reports and status updates
+ * are never held up for long. Freed pages are handed back with incremental vacuum afterwards.
+ */
+public class ReportArchiver {
+
+    private static final long PAUSE_BETWEEN_BATCHES_MS = 50;
+
+    private final QuickReport plugin;
+    private final DatabaseManager databaseManager;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile boolean stopped;
+
+    public ReportArchiver(QuickReport plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+    }
+
+    public void start() {
+        long intervalTicks = Math.max(1, plugin.getConfig().getLong("archive.interval-minutes", 60)) * 60 * 20;
+        // First pass a minute after startup, then on the configured interval
+        plugin.getTaskScheduler().runAsyncTimer(this::run, 1200L, intervalTicks);
+    }
+
+    /**
+     * Stops the current pass after its running batch; called before the writer is drained on shutdown.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    private void run() {
+        if (stopped || !running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(plugin.getConfig().getLong("archive.after-days", 30));
+            int batchSize = Math.max(1, plugin.getConfig().getInt("archive.batch-size", 500));
+            int archived = 0;
+            while (!stopped) {
+                int moved = databaseManager.archiveProcessedReports(cutoff, batchSize).join();
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+                Thread.sleep(PAUSE_BETWEEN_BATCHES_MS);
+            }
+            if (archived == 0) {
+                return;
+            }
+
+            int pagesPerStep = Math.max(1, plugin.getConfig().getInt("archive.vacuum-pages-per-step", 1000));
+            long freed = 0;
+            while (!stopped) {
+                int released = databaseManager.incrementalVacuum(pagesPerStep).join();
+                freed += released;
+                if (released < pagesPerStep) {
+                    break;
+                }
+                Thread.sleep(PAUSE_BETWEEN_BATCHES_MS);
+            }
+            plugin.getLogger().info("Archived " + archived + " processed reports and released " + freed + " free pages.");
+        } catch (CompletionException e) {
+            plugin.getLogger().severe("Error archiving reports: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+    }
+}
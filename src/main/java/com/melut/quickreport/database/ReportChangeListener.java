@@ -0,0 +1,24 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+
+/**
+ * Notified on the writer thread after a write has been committed, in commit order.
+ * Implementations must be thread-safe and must not block.
+ */
+public interface ReportChangeListener {
+
+    /**
+     * @param report the stored report, including its generated id
+     */
+    default void onReportSaved(Report report) {
+    }
+
+    /**
+     * @param report         the report as it is stored after the update
+     * @param previousStatus the status it had before the update
+     */
+    default void onStatusChanged(Report report, ReportStatus previousStatus) {
+    }
+}
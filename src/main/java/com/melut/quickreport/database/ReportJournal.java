@@ -0,0 +1,212 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportSnapshot;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal for new reports, written through a memory-mapped file. A report is acknowledged as
+ * soon as its record is in the mapping, which lives in the OS page cache and so survives a crash of the
+ * server process (with sync enabled it is also forced to disk). The writer thread applies it to SQLite
+ * afterwards and marks it applied; records still pending at startup are inserted again before anything
+ * else runs.
+ * <p>
+ * The file is a header followed by records {@code [length][state][crc32][report]}, ending at a zero length.
+ * The length is written last, so a record torn by a crash is never read. Once every record has been
+ * applied, the journal starts over at the beginning of the file.
+ * <p>
+ * Ids are handed out here rather than by AUTOINCREMENT, so the reporter can be told the id right away.
+ */
+final class ReportJournal {
+
+    private static final int MAGIC = 0x51524a4c; // "QRJL"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 9;
+    private static final byte PENDING = 0;
+    private static final byte APPLIED = 1;
+    private static final byte DISCARDED = 2;
+
+    private static final class Entry {
+        private final int position;
+        private final Report report;
+
+        private Entry(int position, Report report) {
+            this.position = position;
+            this.report = report;
+        }
+    }
+
+    private final File file;
+    private final long size;
+    private final boolean sync;
+    // Journaled reports that are not in SQLite yet, readable from any thread
+    private final Map<Integer, Entry> pending = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private MappedByteBuffer buffer;
+    private int position = HEADER_BYTES;
+    private int nextId;
+
+    ReportJournal(File file, long size, boolean sync) {
+        this.file = file;
+        this.size = Math.min(Math.max(size, 64 * 1024), Integer.MAX_VALUE);
+        this.sync = sync;
+    }
+
+    /**
+     * Maps the journal file, creating it if needed.
+     *
+     * @return the reports that were journaled but never marked applied, in the order they were written
+     */
+    synchronized List<Report> open() throws IOException {
+        boolean fresh;
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            fresh = raf.length() < HEADER_BYTES;
+            long length = Math.min(Math.max(raf.length(), size), Integer.MAX_VALUE);
+            raf.setLength(length);
+            // The mapping stays valid after the channel is closed
+            buffer = raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+        if (fresh) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(HEADER_BYTES, 0);
+            buffer.force();
+            return new ArrayList<>();
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException(file.getName() + " is not a report journal");
+        }
+
+        List<Report> unapplied = new ArrayList<>();
+        int pos = HEADER_BYTES;
+        while (pos + RECORD_HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(pos);
+            if (length <= 0 || (long) pos + RECORD_HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(pos + RECORD_HEADER_BYTES, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if (buffer.getInt(pos + 5) != (int) crc.getValue()) {
+                break;
+            }
+            if (buffer.get(pos + 4) == PENDING) {
+                unapplied.add(ReportLog.decode(payload));
+            }
+            pos += RECORD_HEADER_BYTES + length;
+        }
+        position = pos;
+        return unapplied;
+    }
+
+    /**
+     * Empties the journal once everything from {@link #open()} is in SQLite, and continues ids after {@code lastId}.
+     */
+    synchronized void reset(int lastId) {
+        nextId = lastId + 1;
+        rewind();
+        if (sync) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * Assigns the next id to {@code report} and journals it as pending.
+     *
+     * @return the journaled report, or null if the journal is full
+     */
+    synchronized Report append(Report report) throws IOException {
+        Report journaled = ReportSnapshot.of(new Report(nextId, report.getReporterUUID(), report.getReporterName(),
+                report.getReportedUUID(), report.getReportedName(), report.getReason(), report.getDetails(),
+                report.getTimestamp(), ReportStatus.PENDING, null, null, null));
+        byte[] payload = ReportLog.encode(journaled);
+        int end = position + RECORD_HEADER_BYTES + payload.length;
+        if ((long) end + 4 > buffer.capacity()) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        buffer.putInt(end, 0);
+        buffer.put(position + 4, PENDING);
+        buffer.putInt(position + 5, (int) crc.getValue());
+        buffer.put(position + RECORD_HEADER_BYTES, payload);
+        buffer.putInt(position, payload.length);
+        if (sync) {
+            buffer.force(position, end + 4 - position);
+        }
+        pending.put(journaled.getId(), new Entry(position, journaled));
+        position = end;
+        nextId++;
+        return journaled;
+    }
+
+    /**
+     * Takes an id without journaling, for reports written straight to SQLite while the journal is full.
+     */
+    synchronized int allocateId() {
+        return nextId++;
+    }
+
+    /**
+     * Marks a journaled report as committed to SQLite.
+     */
+    synchronized void applied(int id) {
+        mark(id, APPLIED);
+    }
+
+    /**
+     * Drops a journaled report that was never queued for SQLite, so it is not inserted on the next start either.
+     */
+    synchronized void discard(int id) {
+        mark(id, DISCARDED);
+    }
+
+    /**
+     * @return a journaled report that is not in SQLite yet, or null
+     */
+    Report get(int id) {
+        Entry entry = pending.get(id);
+        return entry != null ? entry.report : null;
+    }
+
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    synchronized void close() {
+        if (buffer != null) {
+            buffer.force();
+        }
+    }
+
+    private void mark(int id, byte state) {
+        Entry entry = pending.remove(id);
+        if (entry == null) {
+            return;
+        }
+        buffer.put(entry.position + 4, state);
+        if (pending.isEmpty()) {
+            // Nothing left to replay, so the next record can go back to the start of the file
+            rewind();
+        }
+    }
+
+    private void rewind() {
+        position = HEADER_BYTES;
+        buffer.putInt(HEADER_BYTES, 0);
+    }
+}
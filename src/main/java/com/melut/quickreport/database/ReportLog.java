@@ -0,0 +1,375 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only persistence for {@link MemoryReportRepository}. Every write appends the full new image of
+ * each report it touched to the current segment ({@code segment-N.log}); replaying the segments in order
+ * rebuilds the state. A snapshot ({@code snapshot-N.dat}) holds every report written to segments before
+ * N, so recovery loads the newest snapshot and replays only the segments from N on.
+ * <p>
+ * Each record is {@code [length][report][crc32]}. A record torn by a crash fails its length or checksum
+ * check; replay stops there and the segment is cut back to the last complete record.
+ * <p>
+ * Appends, flushes and rolls are only called from the repository's writer thread. Snapshots are written
+ * from another thread but only touch files older than the current segment.
+ */
+final class ReportLog {
+
+    private static final int SNAPSHOT_MAGIC = 0x51525053; // "QRPS"
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private final File directory;
+    private final Logger logger;
+    private final long segmentMaxBytes;
+    private final boolean fsync;
+
+    private long segment;
+    private FileOutputStream segmentFile;
+    private DataOutputStream segmentOut;
+    private long segmentBytes;
+
+    ReportLog(File directory, Logger logger, long segmentMaxBytes, boolean fsync) {
+        this.directory = directory;
+        this.logger = logger;
+        this.segmentMaxBytes = segmentMaxBytes;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Loads the newest snapshot, replays the segments written after it and opens the last segment for appending.
+     *
+     * @return the number of log records replayed on top of the snapshot
+     */
+    int recover(Consumer<Report> apply) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+        long snapshot = newest("snapshot-", ".dat");
+        if (snapshot > 0) {
+            readSnapshot(file("snapshot-", snapshot, ".dat"), apply);
+        }
+
+        int replayed = 0;
+        long last = Math.max(snapshot, 1);
+        for (long seq : list("segment-", ".log")) {
+            if (seq < snapshot) {
+                continue;
+            }
+            File file = file("segment-", seq, ".log");
+            int[] count = {0};
+            long valid = replay(file, report -> {
+                apply.accept(report);
+                count[0]++;
+            });
+            replayed += count[0];
+            if (valid < file.length()) {
+                logger.warning("Discarding " + (file.length() - valid) + " bytes of incomplete records at the end of " + file.getName() + ".");
+                try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                    raf.setLength(valid);
+                }
+            }
+            last = seq;
+        }
+        open(last);
+        return replayed;
+    }
+
+    void append(Report report) throws IOException {
+        byte[] payload = encode(report);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        segmentOut.writeInt(payload.length);
+        segmentOut.write(payload);
+        segmentOut.writeInt((int) crc.getValue());
+        segmentBytes += payload.length + 8;
+    }
+
+    /**
+     * Hands everything appended so far to the OS (and to the disk with fsync enabled), then starts a new
+     * segment if the current one is full.
+     */
+    void flush() throws IOException {
+        segmentOut.flush();
+        if (fsync) {
+            segmentFile.getChannel().force(false);
+        }
+        if (segmentBytes >= segmentMaxBytes) {
+            roll();
+        }
+    }
+
+    /**
+     * Closes the current segment and starts the next one.
+     *
+     * @return the new segment's number; a snapshot of the current state belongs to it
+     */
+    long roll() throws IOException {
+        close();
+        open(segment + 1);
+        return segment;
+    }
+
+    /**
+     * Writes {@code reports} (nulls are skipped) as the snapshot for segment {@code seq}, then removes
+     * the snapshots and segments it replaces.
+     */
+    void writeSnapshot(long seq, Report[] reports) throws IOException {
+        File target = file("snapshot-", seq, ".dat");
+        File temp = new File(directory, target.getName() + ".tmp");
+        int count = 0;
+        for (Report report : reports) {
+            if (report != null) {
+                count++;
+            }
+        }
+        try (FileOutputStream file = new FileOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(count);
+            for (Report report : reports) {
+                if (report != null) {
+                    byte[] payload = encode(report);
+                    CRC32 crc = new CRC32();
+                    crc.update(payload);
+                    out.writeInt(payload.length);
+                    out.write(payload);
+                    out.writeInt((int) crc.getValue());
+                }
+            }
+            out.flush();
+            file.getChannel().force(true);
+        }
+        try {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        for (long old : list("snapshot-", ".dat")) {
+            if (old < seq) {
+                Files.deleteIfExists(file("snapshot-", old, ".dat").toPath());
+            }
+        }
+        for (long old : list("segment-", ".log")) {
+            if (old < seq) {
+                Files.deleteIfExists(file("segment-", old, ".log").toPath());
+            }
+        }
+    }
+
+    void close() throws IOException {
+        if (segmentOut != null) {
+            segmentOut.flush();
+            if (fsync) {
+                segmentFile.getChannel().force(false);
+            }
+            segmentOut.close();
+            segmentOut = null;
+        }
+    }
+
+    private void open(long seq) throws IOException {
+        File file = file("segment-", seq, ".log");
+        segment = seq;
+        segmentFile = new FileOutputStream(file, true);
+        segmentOut = new DataOutputStream(new BufferedOutputStream(segmentFile, 64 * 1024));
+        segmentBytes = file.length();
+    }
+
+    private void readSnapshot(File file, Consumer<Report> apply) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException(file.getName() + " is not a report snapshot");
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Report report = readRecord(in);
+                if (report == null) {
+                    throw new IOException(file.getName() + " is damaged after " + i + " of " + count + " reports");
+                }
+                apply.accept(report);
+            }
+        }
+    }
+
+    /**
+     * @return the next record, or null at the end of the stream or at a torn/damaged record
+     */
+    private static Report readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_BYTES) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if (in.readInt() != (int) crc.getValue()) {
+                return null;
+            }
+            return decode(payload);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Applies every complete, intact record of {@code file} in order.
+     *
+     * @return the length of the prefix of {@code file} made of those records
+     */
+    private static long replay(File file, Consumer<Report> apply) throws IOException {
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return valid;
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    return valid;
+                }
+                byte[] payload = new byte[length];
+                try {
+                    in.readFully(payload);
+                    CRC32 crc = new CRC32();
+                    crc.update(payload);
+                    if (in.readInt() != (int) crc.getValue()) {
+                        return valid;
+                    }
+                } catch (EOFException e) {
+                    return valid;
+                }
+                apply.accept(decode(payload));
+                valid += length + 8L;
+            }
+        }
+    }
+
+    static byte[] encode(Report report) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(report.getId());
+        writeUuid(out, report.getReporterUUID());
+        writeString(out, report.getReporterName());
+        writeUuid(out, report.getReportedUUID());
+        writeString(out, report.getReportedName());
+        writeString(out, report.getReason());
+        writeString(out, report.getDetails());
+        out.writeLong(report.getTimestamp());
+        out.writeByte(report.getStatus().getCode());
+        writeUuid(out, report.getAdminUUID());
+        writeString(out, report.getAdminName());
+        writeString(out, report.getRejectionReason());
+        out.writeLong(report.getProcessedAt());
+        return bytes.toByteArray();
+    }
+
+    static Report decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        return new Report(
+                in.readInt(),
+                readUuid(in),
+                readString(in),
+                readUuid(in),
+                readString(in),
+                readString(in),
+                readString(in),
+                in.readLong(),
+                ReportStatus.fromCode(in.readByte()),
+                readUuid(in),
+                readString(in),
+                readString(in),
+                in.readLong()
+        );
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+    }
+
+    // Length-prefixed UTF-8 rather than writeUTF, which caps strings at 64 KB (merged details can grow past that)
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private File file(String prefix, long seq, String suffix) {
+        return new File(directory, String.format("%s%016d%s", prefix, seq, suffix));
+    }
+
+    private long newest(String prefix, String suffix) {
+        List<Long> all = list(prefix, suffix);
+        return all.isEmpty() ? 0 : all.get(all.size() - 1);
+    }
+
+    private List<Long> list(String prefix, String suffix) {
+        List<Long> seqs = new ArrayList<>();
+        String[] names = directory.list();
+        if (names == null) {
+            return seqs;
+        }
+        for (String name : names) {
+            if (name.startsWith(prefix) && name.endsWith(suffix)) {
+                try {
+                    seqs.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException ignored) {
+                    // Not one of ours
+                }
+            }
+        }
+        seqs.sort(null);
+        return seqs;
+    }
+}
@@ -0,0 +1,135 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Report storage used by the managers, commands, caches and placeholders. {@link DatabaseManager} (SQLite)
+ * is the default; {@link MemoryReportRepository} keeps everything in memory behind an append-only log.
+ * <p>
+ * Writes are applied one at a time on a single thread. Change listeners and the {@code onLoaded}
+ * callbacks of the cache loads run on that thread in write order. Reads may be called from any thread
+ * except the main thread.
+ */
+public interface ReportRepository {
+
+    /**
+     * Opens the underlying storage.
+     *
+     * @return false if the plugin cannot run without it
+     */
+    boolean connect();
+
+    /**
+     * Brings the stored data up to date (schema migrations, log replay) before first use.
+     */
+    boolean initialize();
+
+    /**
+     * Blocks until every queued write has been persisted.
+     */
+    void drainWrites();
+
+    void disconnect();
+
+    void addChangeListener(ReportChangeListener listener);
+
+    /**
+     * @return true if other servers write to the same storage, so change notifications miss some writes
+     *         and caches fed by them need reloading now and then
+     */
+    default boolean isShared() {
+        return false;
+    }
+
+    /**
+     * @return the new report's id, or -1 if it could not be saved
+     */
+    CompletableFuture<Integer> saveReport(Report report);
+
+    /**
+     * Appends details from a duplicate report to a report that is still pending.
+     *
+     * @return false if the report no longer exists or has been processed in the meantime
+     */
+    CompletableFuture<Boolean> mergeReportDetails(int id, String details);
+
+    /**
+     * Moves a report from {@code expected} to {@code status} only if it is still in {@code expected}, and stamps
+     * the processing time. Two admins acting on the same report can both call this; exactly one gets APPLIED.
+     */
+    CompletableFuture<StatusTransition> transitionReportStatus(int id, ReportStatus expected, ReportStatus status,
+                                                               UUID adminUUID, String adminName, String rejectionReason);
+
+    /**
+     * Bulk form of {@link #transitionReportStatus}: every report matched by {@code selector} that is still in
+     * {@code expected} (at most {@code limit} of them, lowest ids first) is moved to {@code status} in one write.
+     *
+     * @return the reports this call changed, as they are after the update, or null if the update failed
+     */
+    CompletableFuture<List<Report>> transitionReportStatuses(ReportSelector selector, ReportStatus expected, ReportStatus status,
+                                                             UUID adminUUID, String adminName, String rejectionReason, int limit);
+
+    /**
+     * @return the report as a shared read-only snapshot, or null if it does not exist
+     */
+    Report getReportById(int id);
+
+    List<Report> getReportsByStatus(ReportStatus status);
+
+    /**
+     * @return every report submitted by the player, newest first
+     */
+    List<Report> getReportsByReporter(UUID reporterUUID);
+
+    /**
+     * Fetches a single page of the reports with the given status, newest first.
+     */
+    List<Report> getReportsByStatusPage(ReportStatus status, int page, int pageSize);
+
+    /**
+     * Fetches a single page of the reports submitted by a player, newest first.
+     */
+    List<Report> getReportsByReporterPage(UUID reporterUUID, int page, int pageSize);
+
+    int countReportsByStatus(ReportStatus status);
+
+    int countReportsByReporter(UUID reporterUUID);
+
+    /**
+     * Fetches a single page of the reports whose reason or details contain every whitespace-separated term,
+     * best match first. A term ending in {@code *} matches words starting with it.
+     */
+    List<Report> searchReports(String terms, int page, int pageSize);
+
+    int countSearchResults(String terms);
+
+    /**
+     * @return up to {@code limit} reporter names with the most reports in {@code status}, in rank order
+     */
+    Map<String, Integer> getTopReporters(ReportStatus status, int limit);
+
+    /**
+     * Counts a player's reports per status and hands the result to {@code onLoaded} on the write thread,
+     * so a cache seeded from it lines up exactly with the change notifications around it.
+     */
+    CompletableFuture<Void> countReportsByReporterPerStatus(UUID reporterUUID, Consumer<Map<ReportStatus, Integer>> onLoaded);
+
+    /**
+     * Counts reports per reporter name for one status, with no limit. Handed over like
+     * {@link #countReportsByReporterPerStatus}.
+     */
+    CompletableFuture<Void> countReportsPerReporterName(ReportStatus status, Consumer<Map<String, Integer>> onLoaded);
+
+    /**
+     * Reads every report submitted at or after {@code since}, oldest first. Handed over like
+     * {@link #countReportsByReporterPerStatus}.
+     */
+    CompletableFuture<Void> getReportsSince(long since, Consumer<List<Report>> onLoaded);
+}
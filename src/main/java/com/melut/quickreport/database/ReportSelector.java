@@ -0,0 +1,121 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.Report;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Which reports a bulk action applies to: ids and id ranges ({@code 5}, {@code 10-20}, {@code 3,5,9-12}),
+ * or every report against a player ({@code player:Name}).
+ */
+public final class ReportSelector {
+
+    private static final String PLAYER_PREFIX = "player:";
+    private static final int MAX_TERMS = 100;
+
+    private final List<int[]> idRanges;
+    private final String reportedName;
+
+    private ReportSelector(List<int[]> idRanges, String reportedName) {
+        this.idRanges = idRanges;
+        this.reportedName = reportedName;
+    }
+
+    /**
+     * @return the selector, or null if {@code spec} is not a valid id, id list, range or {@code player:Name}
+     */
+    public static ReportSelector parse(String spec) {
+        if (spec.regionMatches(true, 0, PLAYER_PREFIX, 0, PLAYER_PREFIX.length())) {
+            String name = spec.substring(PLAYER_PREFIX.length());
+            return name.isEmpty() ? null : new ReportSelector(Collections.emptyList(), name);
+        }
+        String[] terms = spec.split(",");
+        if (terms.length > MAX_TERMS) {
+            return null;
+        }
+        List<int[]> ranges = new ArrayList<>(terms.length);
+        try {
+            for (String term : terms) {
+                int dash = term.indexOf('-', 1);
+                int from = Integer.parseInt((dash == -1 ? term : term.substring(0, dash)).trim());
+                int to = dash == -1 ? from : Integer.parseInt(term.substring(dash + 1).trim());
+                if (from > to) {
+                    return null;
+                }
+                ranges.add(new int[]{from, to});
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return new ReportSelector(ranges, null);
+    }
+
+    public boolean isSingleId() {
+        return reportedName == null && idRanges.size() == 1 && idRanges.get(0)[0] == idRanges.get(0)[1];
+    }
+
+    public int getSingleId() {
+        return idRanges.get(0)[0];
+    }
+
+    /**
+     * @return how many reports were named explicitly, or -1 for a player selector
+     */
+    public long getRequestedCount() {
+        if (reportedName != null) {
+            return -1;
+        }
+        long count = 0;
+        for (int[] range : idRanges) {
+            count += (long) range[1] - range[0] + 1;
+        }
+        return count;
+    }
+
+    /**
+     * In-memory form of {@link #whereClause(SqlDialect)}.
+     */
+    boolean matches(Report report) {
+        if (reportedName != null) {
+            return reportedName.equalsIgnoreCase(report.getReportedName());
+        }
+        for (int[] range : idRanges) {
+            if (report.getId() >= range[0] && report.getId() <= range[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    String whereClause(SqlDialect dialect) {
+        if (reportedName != null) {
+            return dialect.equalsIgnoreCase("reported_name");
+        }
+        StringBuilder clause = new StringBuilder("(");
+        for (int i = 0; i < idRanges.size(); i++) {
+            clause.append(i == 0 ? "" : " OR ").append("id BETWEEN ? AND ?");
+        }
+        return clause.append(')').toString();
+    }
+
+    /**
+     * Binds the parameters of {@link #whereClause(SqlDialect)} starting at {@code index}.
+     *
+     * @return the next free parameter index
+     */
+    int bind(PreparedStatement pstmt, int index) throws SQLException {
+        if (reportedName != null) {
+            pstmt.setString(index++, reportedName);
+            return index;
+        }
+        for (int[] range : idRanges) {
+            pstmt.setInt(index++, range[0]);
+            pstmt.setInt(index++, range[1]);
+        }
+        return index;
+    }
+}
@@ -0,0 +1,280 @@
+package com.manus.quickreport.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Applies ordered schema migrations on startup. The current version is kept in
+ * {@code PRAGMA user_version} (or a quickreport_schema table on MySQL), so existing databases upgrade in place.
+ */
+public class SchemaMigrator {
+
+    @FunctionalInterface
+    public interface MigrationStep {
+        void apply(Connection connection) throws SQLException;
+    }
+
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final MigrationStep step;
+
+        private Migration(int version, String description, MigrationStep step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private final Logger logger;
+    private final SqlDialect dialect;
+    private final List<Migration> migrations = new ArrayList<>();
+
+    public SchemaMigrator(Logger logger) {
+        this(logger, SqlDialect.SQLITE, StorageFormat.TEXT);
+    }
+
+    /**
+     * @param initialFormat the format a reports table created from scratch uses
+     */
+    public SchemaMigrator(Logger logger, SqlDialect dialect, StorageFormat initialFormat) {
+        this.logger = logger;
+        this.dialect = dialect;
+
+        register(1, "create reports table", conn -> execute(conn, dialect.reportsTableSql("reports", initialFormat)));
+
+        register(2, "add lookup indexes", dialect::createIndexes);
+
+        // Tables created by version 1 on this release already have the column
+        register(3, "add processed_at column", conn -> {
+            if (!hasColumn(conn, "reports", "processed_at")) {
+                execute(conn, "ALTER TABLE reports ADD COLUMN processed_at " + dialect.bigintType());
+            }
+        });
+
+        register(4, "add full-text search index", dialect::createSearchIndex);
+    }
+
+    public void register(int version, String description, MigrationStep step) {
+        for (Migration migration : migrations) {
+            if (migration.version == version) {
+                throw new IllegalArgumentException("Duplicate schema migration version " + version);
+            }
+        }
+        migrations.add(new Migration(version, description, step));
+        migrations.sort((a, b) -> Integer.compare(a.version, b.version));
+    }
+
+    public int getLatestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version;
+    }
+
+    /**
+     * Runs every migration newer than the database's current version, in order.
+     * On SQLite this must be called inside a transaction so a failed step leaves the version untouched. MySQL
+     * commits each DDL statement implicitly, so there it runs in autocommit mode and relies on every step
+     * being safe to repeat.
+     *
+     * @return the schema version after migrating
+     */
+    public int migrate(Connection connection) throws SQLException {
+        int current = dialect.getSchemaVersion(connection);
+        for (Migration migration : Collections.unmodifiableList(migrations)) {
+            if (migration.version <= current) {
+                continue;
+            }
+            logger.info("Applying schema migration " + migration.version + ": " + migration.description);
+            migration.step.apply(connection);
+            dialect.setSchemaVersion(connection, migration.version);
+            current = migration.version;
+        }
+        return current;
+    }
+
+    public static int getVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    static String reportsTableSql(String table, StorageFormat format) {
+        return "CREATE TABLE IF NOT EXISTS " + table + " ("
+                + "id INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + "reporter_uuid " + format.uuidType() + " NOT NULL,"
+                + "reporter_name TEXT NOT NULL,"
+                + "reported_uuid " + format.uuidType() + " NOT NULL,"
+                + "reported_name TEXT NOT NULL,"
+                + "reason TEXT NOT NULL,"
+                + "details TEXT,"
+                + "timestamp INTEGER NOT NULL,"
+                + format.statusColumn() + ","
+                + "admin_uuid " + format.uuidType() + ","
+                + "admin_name TEXT,"
+                + "rejection_reason TEXT,"
+                + "processed_at INTEGER"
+                + ")";
+    }
+
+    static void createIndexes(Connection connection) throws SQLException {
+        execute(connection,
+                "CREATE INDEX IF NOT EXISTS idx_reports_status_timestamp ON reports (status, timestamp)",
+                "CREATE INDEX IF NOT EXISTS idx_reports_reporter_timestamp ON reports (reporter_uuid, timestamp)",
+                "CREATE INDEX IF NOT EXISTS idx_reports_reported_timestamp ON reports (reported_uuid, timestamp)",
+                "CREATE INDEX IF NOT EXISTS idx_reports_status_reporter_name ON reports (status, reporter_name)");
+    }
+
+    /**
+     * Creates the FTS5 index over reason and details, fills it from the existing reports and adds the
+     * triggers that keep it in step. It stores no text of its own (content='reports'), only the index.
+     */
+    static void createSearchIndex(Connection connection) throws SQLException {
+        execute(connection,
+                "CREATE VIRTUAL TABLE IF NOT EXISTS reports_fts USING fts5(reason, details, content='reports', content_rowid='id')",
+                "INSERT INTO reports_fts (reports_fts) VALUES ('rebuild')");
+        createSearchTriggers(connection);
+    }
+
+    /**
+     * Status changes don't touch reason or details, so only inserts, deletes (archival) and merged details
+     * update the index.
+     */
+    static void createSearchTriggers(Connection connection) throws SQLException {
+        execute(connection,
+                "CREATE TRIGGER IF NOT EXISTS reports_fts_insert AFTER INSERT ON reports BEGIN "
+                        + "INSERT INTO reports_fts (rowid, reason, details) VALUES (new.id, new.reason, new.details); END",
+                "CREATE TRIGGER IF NOT EXISTS reports_fts_delete AFTER DELETE ON reports BEGIN "
+                        + "INSERT INTO reports_fts (reports_fts, rowid, reason, details) VALUES ('delete', old.id, old.reason, old.details); END",
+                "CREATE TRIGGER IF NOT EXISTS reports_fts_update AFTER UPDATE OF reason, details ON reports BEGIN "
+                        + "INSERT INTO reports_fts (reports_fts, rowid, reason, details) VALUES ('delete', old.id, old.reason, old.details); "
+                        + "INSERT INTO reports_fts (rowid, reason, details) VALUES (new.id, new.reason, new.details); END");
+    }
+
+    static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        // Result set metadata rather than PRAGMA table_info, so this works on every dialect
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM " + table + " WHERE 1 = 0")) {
+            ResultSetMetaData meta = rs.getMetaData();
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if (column.equalsIgnoreCase(meta.getColumnName(i))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the storage format from the declared type of the reporter_uuid column.
+     */
+    public static StorageFormat detectFormat(Connection connection) throws SQLException {
+        return detectFormat(connection, "main");
+    }
+
+    /**
+     * @param schema the database holding the reports table, e.g. "main" or an attached "archive"
+     */
+    public static StorageFormat detectFormat(Connection connection, String schema) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA " + schema + ".table_info(reports)")) {
+            while (rs.next()) {
+                if ("reporter_uuid".equalsIgnoreCase(rs.getString("name"))) {
+                    return "BLOB".equalsIgnoreCase(rs.getString("type")) ? StorageFormat.COMPACT : StorageFormat.TEXT;
+                }
+            }
+        }
+        return StorageFormat.TEXT;
+    }
+
+    /**
+     * Creates the reports table of the attached archive database (in {@code format} if it does not exist yet)
+     * and the indexes used by the archive fallbacks.
+     */
+    static void createArchiveTable(Connection connection, StorageFormat format) throws SQLException {
+        execute(connection,
+                reportsTableSql("archive.reports", format),
+                "CREATE INDEX IF NOT EXISTS archive.idx_reports_reporter_timestamp ON reports (reporter_uuid, timestamp)",
+                "CREATE INDEX IF NOT EXISTS archive.idx_reports_status_reporter_name ON reports (status, reporter_name)");
+    }
+
+    /**
+     * Rewrites a TEXT-format reports table into the COMPACT format in place: rows are copied into a new
+     * table, the old one is dropped, and the indexes and AUTOINCREMENT sequence are restored.
+     *
+     * @return the number of rows converted
+     */
+    public int convertToCompact(Connection connection) throws SQLException {
+        long sequence = 0;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT seq FROM sqlite_sequence WHERE name = 'reports'")) {
+            if (rs.next()) {
+                sequence = rs.getLong(1);
+            }
+        }
+
+        execute(connection, "DROP TABLE IF EXISTS reports_compact", reportsTableSql("reports_compact", StorageFormat.COMPACT));
+
+        int converted = 0;
+        String insert = "INSERT INTO reports_compact (id, reporter_uuid, reporter_name, reported_uuid, reported_name, reason, details, timestamp, status, admin_uuid, admin_name, rejection_reason, processed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("SELECT * FROM reports ORDER BY id");
+             PreparedStatement pstmt = connection.prepareStatement(insert)) {
+            while (rs.next()) {
+                pstmt.setInt(1, rs.getInt("id"));
+                pstmt.setObject(2, StorageFormat.COMPACT.uuid(StorageFormat.TEXT.readUuid(rs, "reporter_uuid")));
+                pstmt.setString(3, rs.getString("reporter_name"));
+                pstmt.setObject(4, StorageFormat.COMPACT.uuid(StorageFormat.TEXT.readUuid(rs, "reported_uuid")));
+                pstmt.setString(5, rs.getString("reported_name"));
+                pstmt.setString(6, rs.getString("reason"));
+                pstmt.setString(7, rs.getString("details"));
+                pstmt.setLong(8, rs.getLong("timestamp"));
+                pstmt.setObject(9, StorageFormat.COMPACT.status(StorageFormat.TEXT.readStatus(rs, "status")));
+                pstmt.setObject(10, StorageFormat.COMPACT.uuid(StorageFormat.TEXT.readUuid(rs, "admin_uuid")));
+                pstmt.setString(11, rs.getString("admin_name"));
+                pstmt.setString(12, rs.getString("rejection_reason"));
+                pstmt.setObject(13, rs.getObject("processed_at"));
+                pstmt.addBatch();
+                if (++converted % 1000 == 0) {
+                    pstmt.executeBatch();
+                }
+            }
+            pstmt.executeBatch();
+        }
+
+        execute(connection, "DROP TABLE reports", "ALTER TABLE reports_compact RENAME TO reports");
+        createIndexes(connection);
+        // The triggers went with the old table; ids and text are unchanged, so the search index itself still holds
+        if (getVersion(connection) >= 4) {
+            createSearchTriggers(connection);
+        }
+
+        // Dropping the old table lost its sequence row; keep ids of deleted reports from being reused
+        try (PreparedStatement pstmt = connection.prepareStatement("UPDATE sqlite_sequence SET seq = MAX(seq, ?) WHERE name = 'reports'")) {
+            pstmt.setLong(1, sequence);
+            if (pstmt.executeUpdate() == 0 && sequence > 0) {
+                try (PreparedStatement insertSeq = connection.prepareStatement("INSERT INTO sqlite_sequence (name, seq) VALUES ('reports', ?)")) {
+                    insertSeq.setLong(1, sequence);
+                    insertSeq.executeUpdate();
+                }
+            }
+        }
+        logger.info("Converted " + converted + " reports to the compact storage format.");
+        return converted;
+    }
+
+    static void execute(Connection connection, String... statements) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.ReportStatus;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+
+/**
+ * The SQL that differs between the embedded SQLite database and a MySQL/MariaDB server shared by several
+ * game servers. Everything else {@link DatabaseManager} runs is plain SQL both accept. H2 in MySQL mode
+ * ({@code jdbc:h2:...;MODE=MySQL}) passes as MYSQL, which is how the tests cover the pooled backend without a server.
+ */
+public enum SqlDialect {
+
+    SQLITE {
+        @Override
+        String reportsTableSql(String table, StorageFormat format) {
+            return SchemaMigrator.reportsTableSql(table, format);
+        }
+
+        @Override
+        void createIndexes(Connection connection) throws SQLException {
+            SchemaMigrator.createIndexes(connection);
+        }
+
+        @Override
+        int getSchemaVersion(Connection connection) throws SQLException {
+            return SchemaMigrator.getVersion(connection);
+        }
+
+        @Override
+        void setSchemaVersion(Connection connection, int version) throws SQLException {
+            SchemaMigrator.execute(connection, "PRAGMA user_version = " + version);
+        }
+
+        @Override
+        StorageFormat detectFormat(Connection connection) throws SQLException {
+            return SchemaMigrator.detectFormat(connection);
+        }
+
+        @Override
+        void createSearchIndex(Connection connection) throws SQLException {
+            SchemaMigrator.createSearchIndex(connection);
+        }
+
+        @Override
+        boolean hasSearchIndex() {
+            return true;
+        }
+
+        @Override
+        String concat(String left, String right) {
+            return left + " || " + right;
+        }
+
+        @Override
+        String equalsIgnoreCase(String column) {
+            return column + " = ? COLLATE NOCASE";
+        }
+
+        @Override
+        String insertIgnore() {
+            return "INSERT OR IGNORE";
+        }
+
+        @Override
+        String bigintType() {
+            return "INTEGER";
+        }
+
+        @Override
+        public boolean isShared() {
+            return false;
+        }
+    },
+
+    MYSQL {
+        @Override
+        String reportsTableSql(String table, StorageFormat format) {
+            String uuidType = format == StorageFormat.COMPACT ? "BINARY(16)" : "VARCHAR(36)";
+            String statusColumn = format == StorageFormat.COMPACT
+                    ? "status TINYINT NOT NULL DEFAULT " + ReportStatus.PENDING.getCode()
+                    : "status VARCHAR(16) NOT NULL DEFAULT '" + ReportStatus.PENDING.name() + "'";
+            // MySQL has no CREATE INDEX IF NOT EXISTS, so the indexes come with the table
+            return "CREATE TABLE IF NOT EXISTS " + table + " ("
+                    + "id INT NOT NULL AUTO_INCREMENT PRIMARY KEY,"
+                    + "reporter_uuid " + uuidType + " NOT NULL,"
+                    + "reporter_name VARCHAR(64) NOT NULL,"
+                    + "reported_uuid " + uuidType + " NOT NULL,"
+                    + "reported_name VARCHAR(64) NOT NULL,"
+                    + "reason TEXT NOT NULL,"
+                    + "details MEDIUMTEXT,"
+                    + "timestamp BIGINT NOT NULL,"
+                    + statusColumn + ","
+                    + "admin_uuid " + uuidType + ","
+                    + "admin_name VARCHAR(64),"
+                    + "rejection_reason TEXT,"
+                    + "processed_at BIGINT,"
+                    + "INDEX idx_reports_status_timestamp (status, timestamp),"
+                    + "INDEX idx_reports_reporter_timestamp (reporter_uuid, timestamp),"
+                    + "INDEX idx_reports_reported_timestamp (reported_uuid, timestamp),"
+                    + "INDEX idx_reports_status_reporter_name (status, reporter_name)"
+                    + ")";
+        }
+
+        @Override
+        void createIndexes(Connection connection) {
+            // Created with the table
+        }
+
+        @Override
+        int getSchemaVersion(Connection connection) throws SQLException {
+            SchemaMigrator.execute(connection, "CREATE TABLE IF NOT EXISTS quickreport_schema (version INT NOT NULL)");
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM quickreport_schema")) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+
+        @Override
+        void setSchemaVersion(Connection connection, int version) throws SQLException {
+            SchemaMigrator.execute(connection,
+                    "DELETE FROM quickreport_schema",
+                    "INSERT INTO quickreport_schema (version) VALUES (" + version + ")");
+        }
+
+        @Override
+        StorageFormat detectFormat(Connection connection) throws SQLException {
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT reporter_uuid FROM reports WHERE 1 = 0")) {
+                int type = rs.getMetaData().getColumnType(1);
+                return type == Types.BINARY || type == Types.VARBINARY ? StorageFormat.COMPACT : StorageFormat.TEXT;
+            }
+        }
+
+        @Override
+        void createSearchIndex(Connection connection) {
+            // No FTS5; searches match reason and details with LIKE instead
+        }
+
+        @Override
+        boolean hasSearchIndex() {
+            return false;
+        }
+
+        @Override
+        String concat(String left, String right) {
+            return "CONCAT(" + left + ", " + right + ")";
+        }
+
+        @Override
+        String equalsIgnoreCase(String column) {
+            // COLLATE NOCASE is SQLite's; LOWER() works whatever collation the column was created with
+            return "LOWER(" + column + ") = LOWER(?)";
+        }
+
+        @Override
+        String insertIgnore() {
+            return "INSERT IGNORE";
+        }
+
+        @Override
+        String bigintType() {
+            return "BIGINT";
+        }
+
+        @Override
+        public boolean isShared() {
+            return true;
+        }
+    };
+
+    abstract String reportsTableSql(String table, StorageFormat format);
+
+    abstract void createIndexes(Connection connection) throws SQLException;
+
+    abstract int getSchemaVersion(Connection connection) throws SQLException;
+
+    abstract void setSchemaVersion(Connection connection, int version) throws SQLException;
+
+    abstract StorageFormat detectFormat(Connection connection) throws SQLException;
+
+    abstract void createSearchIndex(Connection connection) throws SQLException;
+
+    /**
+     * @return true if searches can use the reports_fts full-text index
+     */
+    abstract boolean hasSearchIndex();
+
+    /**
+     * @return an expression concatenating two string expressions
+     */
+    abstract String concat(String left, String right);
+
+    /**
+     * @return a condition comparing {@code column} to one string parameter, ignoring case
+     */
+    abstract String equalsIgnoreCase(String column);
+
+    /**
+     * @return the INSERT variant that skips rows whose primary key already exists
+     */
+    abstract String insertIgnore();
+
+    abstract String bigintType();
+
+    /**
+     * @return true if other game servers may write to the same database
+     */
+    public abstract boolean isShared();
+}
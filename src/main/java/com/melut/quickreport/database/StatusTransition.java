@@ -0,0 +1,44 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.Report;
+
+/**
+ * Outcome of {@link ReportRepository#transitionReportStatus}: only the caller that gets {@link Result#APPLIED}
+ * changed the report, so follow-up work such as rewards is keyed on it.
+ */
+public final class StatusTransition {
+
+    public enum Result {
+        /** This call moved the report to the new status. */
+        APPLIED,
+        /** No report with that id exists. */
+        NOT_FOUND,
+        /** The report was no longer in the expected status, e.g. another admin processed it first. */
+        CONFLICT,
+        /** The update could not be written. */
+        FAILED
+    }
+
+    private final Result result;
+    private final Report report;
+
+    StatusTransition(Result result, Report report) {
+        this.result = result;
+        this.report = report;
+    }
+
+    public Result getResult() {
+        return result;
+    }
+
+    public boolean isApplied() {
+        return result == Result.APPLIED;
+    }
+
+    /**
+     * @return the report after the update if applied, its current state on a conflict, otherwise null
+     */
+    public Report getReport() {
+        return report;
+    }
+}
@@ -0,0 +1,94 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.ReportStatus;
+
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * How UUID and status columns are encoded in the reports table. TEXT is the original layout;
+ * COMPACT stores UUIDs as 16-byte BLOBs and statuses as their integer code.
+ */
+public enum StorageFormat {
+
+    TEXT {
+        @Override
+        public Object uuid(UUID uuid) {
+            return uuid != null ? uuid.toString() : null;
+        }
+
+        @Override
+        public UUID readUuid(ResultSet rs, String column) throws SQLException {
+            String value = rs.getString(column);
+            return value != null ? UUID.fromString(value) : null;
+        }
+
+        @Override
+        public Object status(ReportStatus status) {
+            return status.name();
+        }
+
+        @Override
+        public ReportStatus readStatus(ResultSet rs, String column) throws SQLException {
+            return ReportStatus.valueOf(rs.getString(column));
+        }
+    },
+
+    COMPACT {
+        @Override
+        public Object uuid(UUID uuid) {
+            if (uuid == null) {
+                return null;
+            }
+            return ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array();
+        }
+
+        @Override
+        public UUID readUuid(ResultSet rs, String column) throws SQLException {
+            byte[] value = rs.getBytes(column);
+            if (value == null) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(value);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+
+        @Override
+        public Object status(ReportStatus status) {
+            return status.getCode();
+        }
+
+        @Override
+        public ReportStatus readStatus(ResultSet rs, String column) throws SQLException {
+            return ReportStatus.fromCode(rs.getInt(column));
+        }
+    };
+
+    /**
+     * @return the value to bind for a UUID column
+     */
+    public abstract Object uuid(UUID uuid);
+
+    public abstract UUID readUuid(ResultSet rs, String column) throws SQLException;
+
+    /**
+     * @return the value to bind for the status column
+     */
+    public abstract Object status(ReportStatus status);
+
+    public abstract ReportStatus readStatus(ResultSet rs, String column) throws SQLException;
+
+    String uuidType() {
+        return this == COMPACT ? "BLOB" : "TEXT";
+    }
+
+    String statusColumn() {
+        return this == COMPACT ? "status INTEGER NOT NULL DEFAULT " + ReportStatus.PENDING.getCode()
+                : "status TEXT NOT NULL DEFAULT '" + ReportStatus.PENDING.name() + "'";
+    }
+}
@@ -0,0 +1,30 @@
+package com.manus.quickreport.listener;
+
+import com.manus.quickreport.QuickReport;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public class PlayerListener implements Listener {
+
+    private final QuickReport plugin;
+
+    public PlayerListener(QuickReport plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        // Warm the placeholder counters so scoreboards never wait on the database
+        plugin.getReporterStatsCache().load(event.getPlayer().getUniqueId());
+        plugin.getReportManager().getAdminNotifier().update(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        plugin.getReporterStatsCache().evict(event.getPlayer().getUniqueId());
+        plugin.getReportManager().getAdminNotifier().remove(event.getPlayer());
+    }
+}
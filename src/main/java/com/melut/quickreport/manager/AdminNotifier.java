@@ -0,0 +1,216 @@
+package com.manus.quickreport.manager;
+
+import com.manus.quickreport.QuickReport;
+import com.manus.quickreport.cache.HotTargetIndex;
+import com.manus.quickreport.util.MessageManager;
+import com.manus.quickreport.util.TaskScheduler;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the set of online staff (players with the admin permission) and broadcasts new-report
+ * notifications to it. The set is maintained on join/quit and re-checked periodically to pick up
+ * permission changes, so a notification never scans every online player.
+ * <p>
+ * In digest mode, reports against the same player are buffered for a short window and sent as a
+ * single "N new reports against X" line with one sound.
+ */
+public class AdminNotifier {
+
+    private final QuickReport plugin;
+    private final ReportManager reportManager;
+    private final MessageManager messageManager;
+    private final TaskScheduler scheduler;
+    private final Map<UUID, Player> onlineStaff = new ConcurrentHashMap<>();
+    // Main thread (global region on Folia) only: reported player -> reports waiting for the current digest window to close
+    private final Map<UUID, PendingDigest> pendingDigests = new HashMap<>();
+
+    private String permission;
+    private Sound sound;
+    private float volume;
+    private float pitch;
+    private Sound escalationSound;
+    private float escalationVolume;
+    private String escalationCommand;
+    private boolean digestMode;
+    private long digestWindowTicks;
+
+    private static final class PendingDigest {
+        private final String reportedName;
+        private final int firstId;
+        private int count;
+
+        private PendingDigest(String reportedName, int firstId) {
+            this.reportedName = reportedName;
+            this.firstId = firstId;
+        }
+    }
+
+    public AdminNotifier(QuickReport plugin, ReportManager reportManager) {
+        this.plugin = plugin;
+        this.reportManager = reportManager;
+        this.messageManager = plugin.getMessageManager();
+        this.scheduler = plugin.getTaskScheduler();
+        loadSettings();
+    }
+
+    public void loadSettings() {
+        this.permission = plugin.getConfig().getString("admin-permission", "quickreport.admin");
+        this.volume = (float) plugin.getConfig().getDouble("notification-volume", 1.0);
+        this.pitch = (float) plugin.getConfig().getDouble("notification-pitch", 1.0);
+        this.digestMode = plugin.getConfig().getString("notification-mode", "immediate").equalsIgnoreCase("digest");
+        this.digestWindowTicks = Math.max(1, plugin.getConfig().getLong("notification-digest-window-ticks", 100));
+        this.sound = parseSound(plugin.getConfig().getString("notification-sound", "ENTITY_EXPERIENCE_ORB_PICKUP"));
+        this.escalationSound = parseSound(plugin.getConfig().getString("hot-targets.escalation-sound", "ENTITY_ENDER_DRAGON_GROWL"));
+        this.escalationVolume = (float) plugin.getConfig().getDouble("hot-targets.escalation-volume", 2.0);
+        this.escalationCommand = plugin.getConfig().getString("hot-targets.escalation-command", "");
+    }
+
+    private Sound parseSound(String soundName) {
+        try {
+            return Sound.valueOf(soundName);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid sound name in config: " + soundName);
+            return null;
+        }
+    }
+
+    /**
+     * Seeds the staff set and schedules the periodic permission re-check. Call from the main thread.
+     */
+    public void start() {
+        refresh();
+        long period = Math.max(1, plugin.getConfig().getLong("admin-refresh-seconds", 30)) * 20L;
+        scheduler.runGlobalTimer(this::refresh, period, period);
+    }
+
+    /**
+     * Rebuilds the staff set from the online players, catching permission changes made while they were online.
+     */
+    public void refresh() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            update(player);
+        }
+        onlineStaff.values().removeIf(player -> !player.isOnline());
+    }
+
+    public void update(Player player) {
+        if (player.hasPermission(permission)) {
+            onlineStaff.put(player.getUniqueId(), player);
+        } else {
+            onlineStaff.remove(player.getUniqueId());
+        }
+    }
+
+    public void remove(Player player) {
+        onlineStaff.remove(player.getUniqueId());
+    }
+
+    public int getOnlineStaffCount() {
+        return onlineStaff.size();
+    }
+
+    /**
+     * Notifies staff of a new report, immediately or through the digest buffer depending on the mode.
+     * Safe to call from any thread; on Folia it usually comes from the reporter's region.
+     */
+    public void onNewReport(int id, UUID reportedUUID, String reportedName) {
+        // Folia can't tell whether this is the global region, so there the delivery is always scheduled
+        scheduler.execute(null, () -> deliverNewReport(id, reportedUUID, reportedName));
+    }
+
+    private void deliverNewReport(int id, UUID reportedUUID, String reportedName) {
+        if (!digestMode) {
+            notifyNewReport(id, reportedName);
+            return;
+        }
+        PendingDigest digest = pendingDigests.get(reportedUUID);
+        if (digest == null) {
+            digest = new PendingDigest(reportedName, id);
+            pendingDigests.put(reportedUUID, digest);
+            scheduler.runGlobalLater(() -> flushDigest(reportedUUID), digestWindowTicks);
+        }
+        digest.count++;
+    }
+
+    private void flushDigest(UUID reportedUUID) {
+        PendingDigest digest = pendingDigests.remove(reportedUUID);
+        if (digest == null) {
+            return;
+        }
+        if (digest.count == 1) {
+            notifyNewReport(digest.firstId, digest.reportedName);
+            return;
+        }
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("count", String.valueOf(digest.count));
+        placeholders.put("reported", digest.reportedName);
+        broadcast("admin-new-report-digest", placeholders, "/reports",
+                "&7Click to view pending reports");
+    }
+
+    /**
+     * Alerts staff that a player crossed the hot-target threshold and runs the configured console command.
+     * Safe to call from any thread.
+     */
+    public void escalateHotTarget(UUID reportedUUID, String reportedName, int count, HotTargetIndex.Window window) {
+        scheduler.runGlobal(() -> {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("reported", reportedName);
+            placeholders.put("count", String.valueOf(count));
+            placeholders.put("window", window.getLabel());
+            for (Player admin : onlineStaff.values()) {
+                scheduler.execute(admin, () -> {
+                    messageManager.sendMessage(admin, "admin-hot-target-alert", placeholders);
+                    if (escalationSound != null) {
+                        admin.playSound(admin.getLocation(), escalationSound, escalationVolume, 1.0f);
+                    }
+                });
+            }
+            if (escalationCommand != null && !escalationCommand.isEmpty()) {
+                Bukkit.dispatchCommand(Bukkit.getConsoleSender(), escalationCommand
+                        .replace("%player%", reportedName)
+                        .replace("%count%", String.valueOf(count)));
+            }
+        });
+    }
+
+    /**
+     * Sends one clickable notification to every online staff member.
+     */
+    public void notifyNewReport(int id, String reportedName) {
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("id", String.valueOf(id));
+        placeholders.put("reported", reportedName);
+        broadcast("admin-new-report-notification", placeholders, "/queryreport " + id,
+                "&7Click to view report details for ID: &e" + id);
+    }
+
+    /**
+     * The message component is built once per language for the whole broadcast, then sent from each
+     * admin's own region on Folia.
+     */
+    private void broadcast(String path, Map<String, String> placeholders, String command, String hoverText) {
+        if (onlineStaff.isEmpty()) {
+            return;
+        }
+        Map<String, TextComponent> components = new HashMap<>(2);
+        for (Player admin : onlineStaff.values()) {
+            TextComponent component = components.computeIfAbsent(messageManager.getLanguage(admin), lang ->
+                    reportManager.buildClickableMessage(messageManager.getMessage(path, placeholders, lang), command, hoverText));
+            scheduler.execute(admin, () -> {
+                admin.spigot().sendMessage(component);
+                if (sound != null) {
+                    admin.playSound(admin.getLocation(), sound, volume, pitch);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.manus.quickreport.manager;
+
+import com.manus.quickreport.database.ReportChangeListener;
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Recent (reporter, reported, reason) triples, so a repeat report can be caught before it reaches the database.
+ * Entries expire after the window and the index is capped at {@code maxEntries}, dropping the oldest first.
+ * Once a report is processed its entry is dropped, so a new report for the same thing goes through again.
+ */
+public class DuplicateReportIndex implements ReportChangeListener {
+
+    public static final class Entry {
+        private final long createdAt;
+        // -1 while the report is still being saved
+        private volatile int reportId = -1;
+
+        private Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        public int getReportId() {
+            return reportId;
+        }
+    }
+
+    private final long windowMillis;
+    private final int maxEntries;
+    // Insertion order is creation order, so expired entries are always at the head
+    private final LinkedHashMap<String, Entry> entries;
+
+    public DuplicateReportIndex(long windowMillis, int maxEntries) {
+        this.windowMillis = Math.max(0, windowMillis);
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > DuplicateReportIndex.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return windowMillis > 0;
+    }
+
+    /**
+     * Looks for a live entry for this triple. If there is none, one is registered for the report about to be saved.
+     *
+     * @return the existing entry, or null if this report is not a duplicate
+     */
+    public synchronized Entry claim(UUID reporter, UUID reported, String reason, long now) {
+        expire(now);
+        String key = key(reporter, reported, reason);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        entries.put(key, new Entry(now));
+        return null;
+    }
+
+    /**
+     * Records the id of a report registered by {@link #claim}.
+     */
+    public synchronized void complete(UUID reporter, UUID reported, String reason, int reportId) {
+        Entry entry = entries.get(key(reporter, reported, reason));
+        if (entry != null && entry.reportId == -1) {
+            entry.reportId = reportId;
+        }
+    }
+
+    /**
+     * Drops the entry for this triple, e.g. when the report could not be saved.
+     */
+    public synchronized void forget(UUID reporter, UUID reported, String reason) {
+        entries.remove(key(reporter, reported, reason));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void expire(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext() && now - iterator.next().createdAt >= windowMillis) {
+            iterator.remove();
+        }
+    }
+
+    private static String key(UUID reporter, UUID reported, String reason) {
+        return reporter + ":" + reported + ":" + reason.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public synchronized void onStatusChanged(Report report, ReportStatus previousStatus) {
+        String key = key(report.getReporterUUID(), report.getReportedUUID(), report.getReason());
+        Entry entry = entries.get(key);
+        if (entry != null && entry.reportId == report.getId()) {
+            entries.remove(key);
+        }
+    }
+}
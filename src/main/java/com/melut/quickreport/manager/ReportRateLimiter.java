@@ -0,0 +1,88 @@
+package com.manus.quickreport.manager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-reporter sliding-window log: at most {@code maxReports} reports in any {@code windowMillis} span.
+ * Each active reporter holds one fixed-size array of slot timestamps; reporters whose slots have all
+ * aged out of the window are dropped by {@link #purgeExpired(long)}.
+ */
+public class ReportRateLimiter {
+
+    private final Map<UUID, long[]> windows = new ConcurrentHashMap<>();
+    private final long windowMillis;
+    private final int maxReports;
+
+    public ReportRateLimiter(long windowMillis, int maxReports) {
+        this.windowMillis = Math.max(0, windowMillis);
+        this.maxReports = Math.max(1, maxReports);
+    }
+
+    /**
+     * Takes a slot for the reporter if one is free.
+     *
+     * @return 0 if the slot was taken, otherwise the milliseconds until the oldest slot frees up
+     */
+    public long tryAcquire(UUID reporter, long now) {
+        if (windowMillis == 0) {
+            return 0;
+        }
+        long[] wait = new long[1];
+        windows.compute(reporter, (uuid, slots) -> {
+            if (slots == null) {
+                slots = new long[maxReports];
+            }
+            int oldest = 0;
+            for (int i = 1; i < slots.length; i++) {
+                if (slots[i] < slots[oldest]) {
+                    oldest = i;
+                }
+            }
+            long elapsed = now - slots[oldest];
+            if (elapsed < windowMillis) {
+                wait[0] = windowMillis - elapsed;
+            } else {
+                slots[oldest] = now;
+            }
+            return slots;
+        });
+        return wait[0];
+    }
+
+    /**
+     * Gives back a slot taken at {@code acquiredAt}, e.g. when the report could not be saved.
+     */
+    public void release(UUID reporter, long acquiredAt) {
+        windows.computeIfPresent(reporter, (uuid, slots) -> {
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] == acquiredAt) {
+                    slots[i] = 0;
+                    break;
+                }
+            }
+            return slots;
+        });
+    }
+
+    /**
+     * Drops reporters with no slot inside the window; they start from a fresh array next time.
+     */
+    public void purgeExpired(long now) {
+        for (UUID reporter : windows.keySet()) {
+            windows.computeIfPresent(reporter, (uuid, slots) -> {
+                for (long slot : slots) {
+                    if (now - slot < windowMillis) {
+                        return slots;
+                    }
+                }
+                return null;
+            });
+        }
+    }
+
+    public int size() {
+        return windows.size();
+    }
+}
@@ -0,0 +1,88 @@
+package com.manus.quickreport.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with fixed buckets from 50µs to 5s. Recording is a bucket search and two atomic adds,
+ * so it is safe to call from the main thread, the writer thread and the pipeline threads at once.
+ */
+public final class LatencyHistogram {
+
+    /** Upper bounds of the buckets in nanoseconds; the last (implicit) bucket is +Inf. */
+    static final long[] BOUNDS = {
+            50_000L, 100_000L, 250_000L, 500_000L,
+            1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L, 50_000_000L,
+            100_000_000L, 250_000_000L, 500_000_000L, 1_000_000_000L, 2_500_000_000L, 5_000_000_000L
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS.length + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < BOUNDS.length && nanos > BOUNDS[bucket]) {
+            bucket++;
+        }
+        buckets.incrementAndGet(bucket);
+        sumNanos.add(nanos);
+        count.increment();
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} (a {@link System#nanoTime()} value).
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    public double getAverageMillis() {
+        long n = count.sum();
+        return n == 0 ? 0 : sumNanos.sum() / (double) n / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the upper bound of the bucket holding the {@code quantile} (0..1), in milliseconds;
+     *         {@link Double#POSITIVE_INFINITY} if it falls above the largest bucket
+     */
+    public double getQuantileMillis(double quantile) {
+        long[] counts = getBucketCounts();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return BOUNDS[i] / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return per-bucket (non-cumulative) counts, one per bound plus the +Inf bucket
+     */
+    long[] getBucketCounts() {
+        long[] counts = new long[buckets.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return counts;
+    }
+}
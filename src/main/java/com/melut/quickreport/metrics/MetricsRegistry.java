@@ -0,0 +1,176 @@
+package com.manus.quickreport.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Named metric families, each with at most one label (e.g. {@code operation} or {@code cache}).
+ * Children are created on first use and then looked up with a single map get, so hot paths can keep
+ * a reference to a family and record without any locking. Values owned elsewhere (queue sizes,
+ * existing cache counters) are registered as suppliers and read only when the metrics are exported.
+ */
+public class MetricsRegistry {
+
+    public enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+
+    public static final class Family<T> {
+        private final String name;
+        private final String help;
+        private final Type type;
+        private final String labelName;
+        private final Supplier<T> factory;
+        private final Map<String, T> children = new ConcurrentHashMap<>();
+
+        private Family(String name, String help, Type type, String labelName, Supplier<T> factory) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labelName = labelName;
+            this.factory = factory;
+        }
+
+        /**
+         * @return the child for {@code labelValue}, created on first use
+         */
+        public T get(String labelValue) {
+            T child = children.get(labelValue);
+            return child != null ? child : children.computeIfAbsent(labelValue, v -> factory.get());
+        }
+
+        /**
+         * @return the only child of an unlabeled family
+         */
+        public T get() {
+            return get("");
+        }
+
+        public SortedMap<String, T> getChildren() {
+            return Collections.unmodifiableSortedMap(new TreeMap<>(children));
+        }
+
+        private void set(String labelValue, T child) {
+            children.put(labelValue, child);
+        }
+    }
+
+    private final Map<String, Family<?>> families = new ConcurrentSkipListMap<>();
+
+    public Family<LatencyHistogram> histogram(String name, String help, String labelName) {
+        return family(name, help, Type.HISTOGRAM, labelName, LatencyHistogram::new);
+    }
+
+    public Family<LongAdder> counter(String name, String help, String labelName) {
+        return family(name, help, Type.COUNTER, labelName, LongAdder::new);
+    }
+
+    /**
+     * Registers a value that is read on export, e.g. a queue size ({@link Type#GAUGE})
+     * or a counter kept by another class ({@link Type#COUNTER}).
+     */
+    public void register(String name, String help, Type type, String labelName, String labelValue, DoubleSupplier value) {
+        Family<DoubleSupplier> family = family(name, help, type, labelName, () -> () -> 0);
+        family.set(labelValue, value);
+    }
+
+    public void register(String name, String help, Type type, DoubleSupplier value) {
+        register(name, help, type, null, "", value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Family<T> family(String name, String help, Type type, String labelName, Supplier<T> factory) {
+        Family<?> family = families.computeIfAbsent(name, n -> new Family<>(n, help, type, labelName, factory));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + family.type);
+        }
+        return (Family<T>) family;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Family<LatencyHistogram> getHistogram(String name) {
+        Family<?> family = families.get(name);
+        return family != null && family.type == Type.HISTOGRAM ? (Family<LatencyHistogram>) family : null;
+    }
+
+    /**
+     * Reads the current value of a counter or registered value, or 0 if it does not exist.
+     */
+    public double getValue(String name, String labelValue) {
+        Family<?> family = families.get(name);
+        Object child = family != null ? family.children.get(labelValue) : null;
+        if (child instanceof LongAdder) {
+            return ((LongAdder) child).sum();
+        }
+        if (child instanceof DoubleSupplier) {
+            return ((DoubleSupplier) child).getAsDouble();
+        }
+        return 0;
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format (version 0.0.4).
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        for (Family<?> family : families.values()) {
+            out.write("# HELP " + family.name + " " + family.help + "\n");
+            out.write("# TYPE " + family.name + " " + family.type.name().toLowerCase(Locale.ROOT) + "\n");
+            for (Map.Entry<String, ?> child : family.getChildren().entrySet()) {
+                String label = family.labelName != null ? family.labelName + "=\"" + escape(child.getKey()) + "\"" : "";
+                Object value = child.getValue();
+                if (value instanceof LatencyHistogram) {
+                    writeHistogram(out, family.name, label, (LatencyHistogram) value);
+                } else if (value instanceof LongAdder) {
+                    out.write(family.name + braces(label) + " " + ((LongAdder) value).sum() + "\n");
+                } else {
+                    out.write(family.name + braces(label) + " " + format(((DoubleSupplier) value).getAsDouble()) + "\n");
+                }
+            }
+        }
+    }
+
+    private static void writeHistogram(Writer out, String name, String label, LatencyHistogram histogram) throws IOException {
+        String prefix = label.isEmpty() ? "" : label + ",";
+        long[] counts = histogram.getBucketCounts();
+        long cumulative = 0;
+        for (int i = 0; i < LatencyHistogram.BOUNDS.length; i++) {
+            cumulative += counts[i];
+            double bound = LatencyHistogram.BOUNDS[i] / (double) TimeUnit.SECONDS.toNanos(1);
+            out.write(name + "_bucket{" + prefix + "le=\"" + format(bound) + "\"} " + cumulative + "\n");
+        }
+        cumulative += counts[counts.length - 1];
+        out.write(name + "_bucket{" + prefix + "le=\"+Inf\"} " + cumulative + "\n");
+        out.write(name + "_sum" + braces(label) + " " + format(histogram.getSumNanos() / (double) TimeUnit.SECONDS.toNanos(1)) + "\n");
+        // Derived from the buckets so _count always matches the +Inf bucket in the same scrape
+        out.write(name + "_count" + braces(label) + " " + cumulative + "\n");
+    }
+
+    private static String braces(String label) {
+        return label.isEmpty() ? "" : "{" + label + "}";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? String.valueOf((long) value) : String.valueOf(value);
+    }
+}
@@ -0,0 +1,95 @@
+package com.manus.quickreport.metrics;
+
+import com.manus.quickreport.QuickReport;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Samples report throughput and rewrites the Prometheus metrics file on a fixed interval, off the main thread.
+ * The file is written next to its final name and moved into place, so a scraper never reads half a file.
+ */
+public class MetricsReporter {
+
+    private final QuickReport plugin;
+    private final MetricsRegistry metrics;
+    private final long intervalSeconds;
+    private final Path file;
+
+    private final double[] lastTotals = new double[ReportStatus.values().length];
+    private long lastSampleNanos;
+    private volatile double[] rates = new double[ReportStatus.values().length];
+
+    public MetricsReporter(QuickReport plugin, MetricsRegistry metrics) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+        this.intervalSeconds = Math.max(1, plugin.getConfig().getLong("metrics.interval-seconds", 15));
+        boolean fileEnabled = plugin.getConfig().getBoolean("metrics.file-enabled", true);
+        this.file = fileEnabled
+                ? new File(plugin.getDataFolder(), plugin.getConfig().getString("metrics.file", "metrics.prom")).toPath()
+                : null;
+    }
+
+    public void start() {
+        sample();
+        long ticks = intervalSeconds * 20;
+        plugin.getTaskScheduler().runAsyncTimer(this::run, ticks, ticks);
+    }
+
+    public long getIntervalSeconds() {
+        return intervalSeconds;
+    }
+
+    /**
+     * @return reports per second that entered {@code status} during the last interval
+     */
+    public double getRate(ReportStatus status) {
+        return rates[status.ordinal()];
+    }
+
+    private void run() {
+        sample();
+        if (file != null) {
+            write();
+        }
+    }
+
+    // Only called from the timer (and once before it starts), so the previous totals need no locking
+    private void sample() {
+        long now = System.nanoTime();
+        double seconds = (now - lastSampleNanos) / 1_000_000_000.0;
+        double[] sampled = new double[lastTotals.length];
+        for (ReportStatus status : ReportStatus.values()) {
+            double total = metrics.getValue(ReportMetrics.REPORTS_TOTAL, ReportMetrics.label(status));
+            if (lastSampleNanos != 0 && seconds > 0) {
+                sampled[status.ordinal()] = (total - lastTotals[status.ordinal()]) / seconds;
+            }
+            lastTotals[status.ordinal()] = total;
+        }
+        lastSampleNanos = now;
+        rates = sampled;
+    }
+
+    private void write() {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                metrics.writePrometheus(out);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not write metrics file " + file + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.manus.quickreport.metrics;
+
+import com.manus.quickreport.database.ReportChangeListener;
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts reports entering each status: new reports as pending, processed ones as accepted or rejected.
+ */
+public class ReportMetrics implements ReportChangeListener {
+
+    public static final String REPORTS_TOTAL = "quickreport_reports_total";
+
+    private final MetricsRegistry.Family<LongAdder> reports;
+
+    public ReportMetrics(MetricsRegistry metrics) {
+        this.reports = metrics.counter(REPORTS_TOTAL, "Reports that entered each status since startup", "status");
+        for (ReportStatus status : ReportStatus.values()) {
+            reports.get(label(status));
+        }
+    }
+
+    public static String label(ReportStatus status) {
+        return status.name().toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void onReportSaved(Report report) {
+        reports.get(label(report.getStatus())).increment();
+    }
+
+    @Override
+    public void onStatusChanged(Report report, ReportStatus previousStatus) {
+        reports.get(label(report.getStatus())).increment();
+    }
+}
@@ -0,0 +1,111 @@
+package com.manus.quickreport.metrics;
+
+import com.manus.quickreport.QuickReport;
+import com.manus.quickreport.model.ReportStatus;
+import org.bukkit.ChatColor;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * /quickreport stats: a snapshot of the metrics registry for staff, without needing a scraper.
+ */
+public class StatsCommand implements CommandExecutor, TabCompleter {
+
+    private final QuickReport plugin;
+    private final MetricsRegistry metrics;
+    private final MetricsReporter reporter;
+
+    public StatsCommand(QuickReport plugin, MetricsRegistry metrics, MetricsReporter reporter) {
+        this.plugin = plugin;
+        this.metrics = metrics;
+        this.reporter = reporter;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        if (!sender.hasPermission(plugin.getConfig().getString("admin-permission", "quickreport.admin"))) {
+            plugin.getMessageManager().sendMessage(sender, "no-permission");
+            return true;
+        }
+        if (args.length == 0 || !args[0].equalsIgnoreCase("stats")) {
+            sender.sendMessage(ChatColor.RED + "Usage: /" + label + " stats");
+            return true;
+        }
+
+        sender.sendMessage(ChatColor.GOLD + "--- QuickReport stats ---");
+
+        StringBuilder rates = new StringBuilder();
+        for (ReportStatus status : ReportStatus.values()) {
+            rates.append(rates.length() == 0 ? "" : ChatColor.GRAY + " | ")
+                    .append(ChatColor.YELLOW).append(status.getDisplayName()).append(' ')
+                    .append(ChatColor.WHITE).append(format(reporter.getRate(status)))
+                    .append(ChatColor.GRAY).append(" (").append((long) metrics.getValue(ReportMetrics.REPORTS_TOTAL, ReportMetrics.label(status))).append(')');
+        }
+        sender.sendMessage(ChatColor.AQUA + "Reports/s (last " + reporter.getIntervalSeconds() + "s, total): " + rates);
+
+        sender.sendMessage(ChatColor.AQUA + "Queues: " + ChatColor.YELLOW + "writer " + ChatColor.WHITE
+                + (long) metrics.getValue("quickreport_db_write_queue_size", "") + waitSummary("quickreport_db_write_queue_wait_seconds")
+                + ChatColor.GRAY + " | " + ChatColor.YELLOW + "pipeline " + ChatColor.WHITE
+                + (long) metrics.getValue("quickreport_pipeline_queue_size", "") + waitSummary("quickreport_pipeline_queue_wait_seconds"));
+
+        sender.sendMessage(ChatColor.AQUA + "Cache hit rate: " + ChatColor.YELLOW + "reports " + ChatColor.WHITE + hitRate("reports")
+                + ChatColor.GRAY + " | " + ChatColor.YELLOW + "reporter stats " + ChatColor.WHITE + hitRate("reporter_stats"));
+
+        sendHistograms(sender, "Database (count, avg, p99):", "quickreport_db_operation_seconds");
+        sendHistograms(sender, "Main thread (count, avg, p99):", "quickreport_main_thread_seconds");
+        sendHistograms(sender, "Pipeline stages (count, avg, p99):", "quickreport_pipeline_stage_seconds");
+        return true;
+    }
+
+    private String waitSummary(String name) {
+        MetricsRegistry.Family<LatencyHistogram> family = metrics.getHistogram(name);
+        if (family == null) {
+            return "";
+        }
+        LatencyHistogram wait = family.get();
+        return ChatColor.GRAY + " queued, wait p50 " + millis(wait.getQuantileMillis(0.5)) + " p99 " + millis(wait.getQuantileMillis(0.99));
+    }
+
+    private String hitRate(String cache) {
+        double hits = metrics.getValue("quickreport_cache_hits_total", cache);
+        double total = hits + metrics.getValue("quickreport_cache_misses_total", cache);
+        return total == 0 ? "N/A" : String.format(Locale.ROOT, "%.1f%%", hits * 100 / total);
+    }
+
+    private void sendHistograms(CommandSender sender, String title, String name) {
+        MetricsRegistry.Family<LatencyHistogram> family = metrics.getHistogram(name);
+        if (family == null || family.getChildren().isEmpty()) {
+            return;
+        }
+        sender.sendMessage(ChatColor.AQUA + title);
+        for (Map.Entry<String, LatencyHistogram> entry : family.getChildren().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            sender.sendMessage(ChatColor.GRAY + "  " + ChatColor.YELLOW + entry.getKey() + ChatColor.GRAY + ": " + ChatColor.WHITE
+                    + histogram.getCount() + ", " + millis(histogram.getAverageMillis()) + ", " + millis(histogram.getQuantileMillis(0.99)));
+        }
+    }
+
+    private static String millis(double millis) {
+        return Double.isInfinite(millis) ? ">5s" : format(millis) + "ms";
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
+        if (args.length == 1 && "stats".startsWith(args[0].toLowerCase(Locale.ROOT))) {
+            return Collections.singletonList("stats");
+        }
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,39 @@
+package com.manus.quickreport.metrics;
+
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabCompleter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Wraps a command executor and records how long it holds the main thread. Tab completion is passed through
+ * untimed; executors without their own completer keep Bukkit's default player-name completion.
+ */
+public final class TimedCommand implements CommandExecutor, TabCompleter {
+
+    private final CommandExecutor executor;
+    private final LatencyHistogram latency;
+
+    public TimedCommand(CommandExecutor executor, LatencyHistogram latency) {
+        this.executor = executor;
+        this.latency = latency;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
+        long start = System.nanoTime();
+        try {
+            return executor.onCommand(sender, command, label, args);
+        } finally {
+            latency.recordSince(start);
+        }
+    }
+
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String[] args) {
+        return executor instanceof TabCompleter ? ((TabCompleter) executor).onTabComplete(sender, command, alias, args) : null;
+    }
+}
@@ -15,8 +15,13 @@ public class Report {
     private UUID adminUUID;
     private String adminName;
     private String rejectionReason;
+    private long processedAt; // 0 while pending, or for reports processed before this was recorded
 
     public Report(int id, UUID reporterUUID, String reporterName, UUID reportedUUID, String reportedName, String reason, String details, long timestamp, ReportStatus status, UUID adminUUID, String adminName, String rejectionReason) {
+        this(id, reporterUUID, reporterName, reportedUUID, reportedName, reason, details, timestamp, status, adminUUID, adminName, rejectionReason, 0);
+    }
+
+    public Report(int id, UUID reporterUUID, String reporterName, UUID reportedUUID, String reportedName, String reason, String details, long timestamp, ReportStatus status, UUID adminUUID, String adminName, String rejectionReason, long processedAt) {
         this.id = id;
         this.reporterUUID = reporterUUID;
         this.reporterName = reporterName;
@@ -29,6 +34,7 @@ public class Report {
         this.adminUUID = adminUUID;
         this.adminName = adminName;
         this.rejectionReason = rejectionReason;
+        this.processedAt = processedAt;
     }
 
     // Getters
@@ -44,10 +50,12 @@ public class Report {
     public UUID getAdminUUID() { return adminUUID; }
     public String getAdminName() { return adminName; }
     public String getRejectionReason() { return rejectionReason; }
+    public long getProcessedAt() { return processedAt; }
 
     // Setters for mutable fields
     public void setStatus(ReportStatus status) { this.status = status; }
     public void setAdminUUID(UUID adminUUID) { this.adminUUID = adminUUID; }
     public void setAdminName(String adminName) { this.adminName = adminName; }
     public void setRejectionReason(String rejectionReason) { this.rejectionReason = rejectionReason; }
+    public void setProcessedAt(long processedAt) { this.processedAt = processedAt; }
 }
@@ -0,0 +1,45 @@
+package com.manus.quickreport.model;
+
+import java.util.UUID;
+
+/**
+ * Read-only copy of a {@link Report} that can be shared between threads, e.g. from a cache.
+ */
+public final class ReportSnapshot extends Report {
+
+    private ReportSnapshot(Report report) {
+        super(report.getId(), report.getReporterUUID(), report.getReporterName(), report.getReportedUUID(),
+                report.getReportedName(), report.getReason(), report.getDetails(), report.getTimestamp(),
+                report.getStatus(), report.getAdminUUID(), report.getAdminName(), report.getRejectionReason(),
+                report.getProcessedAt());
+    }
+
+    public static ReportSnapshot of(Report report) {
+        return report instanceof ReportSnapshot ? (ReportSnapshot) report : new ReportSnapshot(report);
+    }
+
+    @Override
+    public void setStatus(ReportStatus status) {
+        throw new UnsupportedOperationException("Report snapshots are read-only");
+    }
+
+    @Override
+    public void setAdminUUID(UUID adminUUID) {
+        throw new UnsupportedOperationException("Report snapshots are read-only");
+    }
+
+    @Override
+    public void setAdminName(String adminName) {
+        throw new UnsupportedOperationException("Report snapshots are read-only");
+    }
+
+    @Override
+    public void setRejectionReason(String rejectionReason) {
+        throw new UnsupportedOperationException("Report snapshots are read-only");
+    }
+
+    @Override
+    public void setProcessedAt(long processedAt) {
+        throw new UnsupportedOperationException("Report snapshots are read-only");
+    }
+}
@@ -1,17 +1,35 @@
 package com.manus.quickreport.model;
 
 public enum ReportStatus {
-    PENDING("Pending"),
-    ACCEPTED("Accepted"),
-    REJECTED("Rejected");
+    PENDING("Pending", 0),
+    ACCEPTED("Accepted", 1),
+    REJECTED("Rejected", 2);
 
     private final String displayName;
+    private final int code;
 
-    ReportStatus(String displayName) {
+    ReportStatus(String displayName, int code) {
         this.displayName = displayName;
+        this.code = code;
     }
 
     public String getDisplayName() {
         return displayName;
     }
+
+    /**
+     * Stable numeric code used by the compact storage format. Never reuse or renumber.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    public static ReportStatus fromCode(int code) {
+        for (ReportStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown report status code: " + code);
+    }
 }
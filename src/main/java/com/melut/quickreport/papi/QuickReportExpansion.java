@@ -1,19 +1,22 @@
 package com.manus.quickreport.papi;
 
 import com.manus.quickreport.QuickReport;
+import com.manus.quickreport.cache.Leaderboard;
+import com.manus.quickreport.cache.ReporterStatsCache;
+import com.manus.quickreport.metrics.LatencyHistogram;
 import com.manus.quickreport.model.ReportStatus;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Map;
-
 public class QuickReportExpansion extends PlaceholderExpansion {
 
     private final QuickReport plugin;
+    private final LatencyHistogram latency;
 
     public QuickReportExpansion(QuickReport plugin) {
         this.plugin = plugin;
+        this.latency = plugin.getMainThreadLatency().get("placeholder");
     }
 
     @Override
@@ -38,18 +41,23 @@ public class QuickReportExpansion extends PlaceholderExpansion {
 
     @Override
     public String onRequest(OfflinePlayer player, @NotNull String params) {
+        long start = System.nanoTime();
+        try {
+            return resolve(player, params);
+        } finally {
+            latency.recordSince(start);
+        }
+    }
+
+    private String resolve(OfflinePlayer player, String params) {
         if (params.equalsIgnoreCase("kabul_edilen")) {
             // %quickreport_kabul_edilen%
-            return String.valueOf(plugin.getDatabaseManager().getReportsByReporter(player.getUniqueId()).stream()
-                    .filter(r -> r.getStatus() == ReportStatus.ACCEPTED)
-                    .count());
+            return String.valueOf(getReporterCount(player, ReportStatus.ACCEPTED));
         }
 
         if (params.equalsIgnoreCase("reddedilen")) {
             // %quickreport_reddedilen%
-            return String.valueOf(plugin.getDatabaseManager().getReportsByReporter(player.getUniqueId()).stream()
-                    .filter(r -> r.getStatus() == ReportStatus.REJECTED)
-                    .count());
+            return String.valueOf(getReporterCount(player, ReportStatus.REJECTED));
         }
 
         // Leaderboard placeholders: %quickreport_top_kabul_isim_<sıra>% ve %quickreport_top_kabul_sayi_<sıra>%
@@ -92,19 +100,25 @@ public class QuickReportExpansion extends PlaceholderExpansion {
         return null;
     }
 
-    private String getTopReporterName(ReportStatus status, int rank) {
-        Map<String, Integer> topReporters = plugin.getDatabaseManager().getTopReporters(status, rank);
-        if (topReporters.size() >= rank) {
-            return (String) topReporters.keySet().toArray()[rank - 1];
+    private int getReporterCount(OfflinePlayer player, ReportStatus status) {
+        // Served from memory; players that aren't cached yet (e.g. offline) are loaded in the background
+        if (player == null) {
+            return 0;
         }
-        return "N/A";
+        ReporterStatsCache stats = plugin.getReporterStatsCache();
+        if (!stats.isLoaded(player.getUniqueId())) {
+            stats.loadOffline(player.getUniqueId());
+        }
+        return stats.getCount(player.getUniqueId(), status);
+    }
+
+    private String getTopReporterName(ReportStatus status, int rank) {
+        Leaderboard.Entry entry = plugin.getLeaderboardCache().get(status, rank);
+        return entry != null ? entry.getName() : "N/A";
     }
 
     private String getTopReporterCount(ReportStatus status, int rank) {
-        Map<String, Integer> topReporters = plugin.getDatabaseManager().getTopReporters(status, rank);
-        if (topReporters.size() >= rank) {
-            return String.valueOf(topReporters.values().toArray()[rank - 1]);
-        }
-        return "0";
+        Leaderboard.Entry entry = plugin.getLeaderboardCache().get(status, rank);
+        return entry != null ? String.valueOf(entry.getCount()) : "0";
     }
 }
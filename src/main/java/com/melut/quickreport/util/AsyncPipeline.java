@@ -0,0 +1,127 @@
+package com.manus.quickreport.util;
+
+import com.manus.quickreport.QuickReport;
+import com.manus.quickreport.metrics.LatencyHistogram;
+import com.manus.quickreport.metrics.MetricsRegistry;
+import org.bukkit.command.CommandSender;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * CompletableFuture stages for database work: reads run on a dedicated executor, and only the final
+ * stage of a chain hops back to the game through {@link #mainThread()} or {@link #replyTo(CommandSender)}. Every stage is timed
+ * per name in the metrics registry, so the latency of e.g. "load-report" or the main-thread hop shows up
+ * in /quickreport stats.
+ */
+public class AsyncPipeline {
+
+    private static final String MAIN_THREAD_STAGE = "main-thread-hop";
+
+    private final QuickReport plugin;
+    private final TaskScheduler scheduler;
+    private final ThreadPoolExecutor dbExecutor;
+    private final Executor mainThread;
+    private final MetricsRegistry.Family<LatencyHistogram> stageLatency;
+    private final MetricsRegistry.Family<LongAdder> stageFailures;
+    private final LatencyHistogram queueWait;
+
+    public AsyncPipeline(QuickReport plugin, int dbThreads) {
+        this.plugin = plugin;
+        this.scheduler = plugin.getTaskScheduler();
+        MetricsRegistry metrics = plugin.getMetrics();
+        this.stageLatency = metrics.histogram("quickreport_pipeline_stage_seconds",
+                "Time per async pipeline stage, including the hop back to the main thread", "stage");
+        this.stageFailures = metrics.counter("quickreport_pipeline_stage_failures_total",
+                "Async pipeline stages that completed exceptionally", "stage");
+        this.queueWait = metrics.histogram("quickreport_pipeline_queue_wait_seconds",
+                "Time database tasks wait for a pipeline thread", null).get();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "QuickReport-DB-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        int threads = Math.max(1, dbThreads);
+        this.dbExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        metrics.register("quickreport_pipeline_queue_size", "Database tasks waiting for a pipeline thread",
+                MetricsRegistry.Type.GAUGE, () -> dbExecutor.getQueue().size());
+        this.mainThread = hop(null);
+    }
+
+    /**
+     * Runs {@code task} on the database executor.
+     */
+    public <T> CompletableFuture<T> supplyAsync(String stage, Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        return timed(stage, CompletableFuture.supplyAsync(() -> {
+            queueWait.recordSince(queuedAt);
+            return task.get();
+        }, dbExecutor));
+    }
+
+    /**
+     * Times an already running stage (such as a queued write) from now until it completes.
+     */
+    public <T> CompletableFuture<T> timed(String stage, CompletableFuture<T> future) {
+        long start = System.nanoTime();
+        LatencyHistogram latency = stageLatency.get(stage);
+        return future.whenComplete((result, error) -> {
+            latency.recordSince(start);
+            if (error != null) {
+                stageFailures.get(stage).increment();
+                plugin.getLogger().severe("Error in async stage '" + stage + "': " + error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Executor for the final stage of a chain that touches server-wide state, e.g.
+     * {@code thenAcceptAsync(result -> ..., pipeline.mainThread())}. On Folia this is the global region.
+     */
+    public Executor mainThread() {
+        return mainThread;
+    }
+
+    /**
+     * Executor for the final stage of a chain that answers {@code sender}. On Folia it runs on the region
+     * that owns the player, or on the global region for the console.
+     */
+    public Executor replyTo(CommandSender sender) {
+        return hop(sender);
+    }
+
+    private Executor hop(CommandSender target) {
+        return command -> {
+            // Already on the right thread (e.g. a stage that completed synchronously): no need to wait a tick
+            if (scheduler.isOwnedByCurrentThread(target)) {
+                command.run();
+                return;
+            }
+            long queuedAt = System.nanoTime();
+            scheduler.runFor(target, () -> {
+                stageLatency.get(MAIN_THREAD_STAGE).recordSince(queuedAt);
+                command.run();
+            });
+        };
+    }
+
+    public void shutdown() {
+        dbExecutor.shutdown();
+        try {
+            if (!dbExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                dbExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            dbExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,16 +2,19 @@ package com.manus.quickreport.util;
 
 import com.manus.quickreport.QuickReport;
 import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
 import java.io.File;
-import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 
 public class MessageManager {
@@ -19,7 +22,11 @@ public class MessageManager {
     private final QuickReport plugin;
     private FileConfiguration messagesConfig = null;
     private File messagesFile = null;
-    private final String defaultLang = "en"; // Default language
+    private String defaultLang = "en"; // Default language
+
+    // Compiled on load/reload: language -> message path -> template, with missing translations
+    // already filled in from the default language so a lookup is a single map get.
+    private volatile Map<String, Map<String, MessageTemplate>> templates = Collections.emptyMap();
 
     public MessageManager(QuickReport plugin) {
         this.plugin = plugin;
@@ -28,6 +35,7 @@ public class MessageManager {
             plugin.saveResource("messages.yml", false);
         }
         this.messagesConfig = YamlConfiguration.loadConfiguration(messagesFile);
+        compileTemplates();
     }
 
     public void reloadMessages() {
@@ -37,39 +45,93 @@ public class MessageManager {
         if (defConfigStream != null) {
             messagesConfig.setDefaults(YamlConfiguration.loadConfiguration(new InputStreamReader(defConfigStream, StandardCharsets.UTF_8)));
         }
+        compileTemplates();
     }
 
-    public String getMessage(String path, Map<String, String> placeholders, String lang) {
-        String message = getMessage(path, lang);
-        if (message != null && placeholders != null) {
-            for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-                message = message.replace("%" + entry.getKey() + "%", entry.getValue());
+    private void compileTemplates() {
+        defaultLang = plugin.getConfig().getString("default-language", "en").toLowerCase(Locale.ROOT);
+
+        Map<String, Map<String, MessageTemplate>> compiled = new HashMap<>();
+        Map<String, MessageTemplate> defaults = new HashMap<>();
+        compiled.put(defaultLang, defaults);
+
+        ConfigurationSection messages = messagesConfig.getConfigurationSection("messages");
+        if (messages != null) {
+            for (String path : messages.getKeys(false)) {
+                if (messages.isConfigurationSection(path)) {
+                    ConfigurationSection translations = messages.getConfigurationSection(path);
+                    for (String lang : translations.getKeys(false)) {
+                        String message = translations.getString(lang);
+                        if (message != null) {
+                            compiled.computeIfAbsent(lang.toLowerCase(Locale.ROOT), l -> new HashMap<>()).put(path, compile(message));
+                        }
+                    }
+                } else {
+                    // A single string is used for every language
+                    String message = messages.getString(path);
+                    if (message != null) {
+                        defaults.put(path, compile(message));
+                    }
+                }
             }
         }
-        return message;
-    }
 
-    public String getMessage(String path, String lang) {
-        String message = null;
-        if (messagesConfig.isConfigurationSection("messages." + path)) {
-            // Try specific language first
-            if (messagesConfig.contains("messages." + path + "." + lang)) {
-                message = messagesConfig.getString("messages." + path + "." + lang);
+        // Messages that only exist in another language still resolve for the default one
+        for (Map<String, MessageTemplate> table : compiled.values()) {
+            for (Map.Entry<String, MessageTemplate> entry : table.entrySet()) {
+                defaults.putIfAbsent(entry.getKey(), entry.getValue());
             }
-            // Fallback to default language
-            if (message == null) {
-                message = messagesConfig.getString("messages." + path + "." + defaultLang);
+        }
+        for (Map<String, MessageTemplate> table : compiled.values()) {
+            if (table != defaults) {
+                for (Map.Entry<String, MessageTemplate> entry : defaults.entrySet()) {
+                    table.putIfAbsent(entry.getKey(), entry.getValue());
+                }
             }
-        } else {
-            // If it's a single string, just get it
-            message = messagesConfig.getString("messages." + path);
         }
+        templates = compiled;
+    }
 
-        if (message == null) {
-            return ChatColor.RED + "Error: Message not found for path '" + path + "'";
+    private static MessageTemplate compile(String message) {
+        return MessageTemplate.compile(ChatColor.translateAlternateColorCodes('&', message));
+    }
+
+    /**
+     * Picks the message table for the sender's client locale (e.g. "tr_tr" -> "tr"),
+     * falling back to the default language.
+     */
+    public String getLanguage(CommandSender sender) {
+        if (sender instanceof Player) {
+            String locale = ((Player) sender).getLocale();
+            if (locale != null) {
+                int separator = locale.indexOf('_');
+                String lang = (separator > 0 ? locale.substring(0, separator) : locale).toLowerCase(Locale.ROOT);
+                if (templates.containsKey(lang)) {
+                    return lang;
+                }
+            }
+        }
+        return defaultLang;
+    }
+
+    public MessageTemplate getTemplate(String path, String lang) {
+        Map<String, MessageTemplate> table = templates.get(lang);
+        if (table == null) {
+            table = templates.get(defaultLang);
+        }
+        MessageTemplate template = table != null ? table.get(path) : null;
+        if (template == null) {
+            return MessageTemplate.compile(ChatColor.RED + "Error: Message not found for path '" + path + "'");
         }
+        return template;
+    }
 
-        return ChatColor.translateAlternateColorCodes('&', message);
+    public String getMessage(String path, Map<String, String> placeholders, String lang) {
+        return getTemplate(path, lang).render(placeholders);
+    }
+
+    public String getMessage(String path, String lang) {
+        return getTemplate(path, lang).getText();
     }
 
     public String getMessage(String path) {
@@ -77,23 +139,19 @@ public class MessageManager {
         return getMessage(path, defaultLang);
     }
 
-    public void sendMessage(Player player, String path, Map<String, String> placeholders) {
-        // In a real scenario, we would determine the player's language.
-        // For now, we'll stick to the default language 'en' as primary,
-        // but the getMessage logic will try 'tr' if available and requested.
-        String lang = defaultLang; // Placeholder for actual language detection logic
-
-        String message = getMessage(path, lang);
-
-        for (Map.Entry<String, String> entry : placeholders.entrySet()) {
-            message = message.replace("%" + entry.getKey() + "%", entry.getValue());
-        }
+    /**
+     * Renders a message in the sender's language.
+     */
+    public String getMessage(CommandSender sender, String path, Map<String, String> placeholders) {
+        return getMessage(path, placeholders, getLanguage(sender));
+    }
 
-        player.sendMessage(message);
+    public void sendMessage(CommandSender sender, String path, Map<String, String> placeholders) {
+        sender.sendMessage(getMessage(sender, path, placeholders));
     }
 
-    public void sendMessage(Player player, String path) {
-        sendMessage(player, path, new HashMap<>());
+    public void sendMessage(CommandSender sender, String path) {
+        sendMessage(sender, path, Collections.emptyMap());
     }
 
     public String getRawMessage(String path, String lang) {
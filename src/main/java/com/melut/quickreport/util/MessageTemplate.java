@@ -0,0 +1,91 @@
+package com.manus.quickreport.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message compiled once at load time: color codes are already translated and the text is split into
+ * literal and {@code %placeholder%} segments, so rendering is a single pass into one StringBuilder.
+ */
+public final class MessageTemplate {
+
+    private final String[] literals;
+    private final String[] placeholders;
+    private final String text;
+    private final int literalLength;
+
+    private MessageTemplate(String[] literals, String[] placeholders, String text) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.text = text;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @param message an already color-translated message
+     */
+    public static MessageTemplate compile(String message) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < message.length()) {
+            char c = message.charAt(i);
+            int end = c == '%' ? message.indexOf('%', i + 1) : -1;
+            if (end > i + 1 && isPlaceholderName(message, i + 1, end)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                placeholders.add(message.substring(i + 1, end));
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        return new MessageTemplate(literals.toArray(new String[0]), placeholders.toArray(new String[0]), message);
+    }
+
+    private static boolean isPlaceholderName(String message, int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = message.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '_' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fills in the placeholders. Placeholders without a value are left as {@code %name%}.
+     */
+    public String render(Map<String, String> values) {
+        if (placeholders.length == 0 || values == null || values.isEmpty()) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(literalLength + placeholders.length * 16);
+        for (int i = 0; i < placeholders.length; i++) {
+            builder.append(literals[i]);
+            String value = values.get(placeholders[i]);
+            if (value != null) {
+                builder.append(value);
+            } else {
+                builder.append('%').append(placeholders[i]).append('%');
+            }
+        }
+        builder.append(literals[placeholders.length]);
+        return builder.toString();
+    }
+
+    /**
+     * @return the message with placeholders left unfilled
+     */
+    public String getText() {
+        return text;
+    }
+}
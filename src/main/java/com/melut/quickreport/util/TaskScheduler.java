@@ -0,0 +1,172 @@
+package com.manus.quickreport.util;
+
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every task QuickReport schedules goes through here. On Paper, game work runs on the main thread through
+ * the classic BukkitScheduler. Folia has no main thread and rejects that scheduler. There, server-wide work
+ * (console commands, the staff list) runs on the global region, anything sent to a player runs on the
+ * region that owns that player, and background timers use the async scheduler.
+ */
+public abstract class TaskScheduler {
+
+    protected final Plugin plugin;
+
+    private TaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    public static TaskScheduler create(Plugin plugin) {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return new Regionized(plugin);
+        } catch (ClassNotFoundException e) {
+            return new Classic(plugin);
+        }
+    }
+
+    /**
+     * @return true on Folia
+     */
+    public abstract boolean isRegionized();
+
+    /**
+     * Runs {@code task} on the main thread (Paper) or the global region (Folia), on a later tick.
+     */
+    public abstract void runGlobal(Runnable task);
+
+    public abstract void runGlobalLater(Runnable task, long delayTicks);
+
+    public abstract void runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs {@code task} on the thread that owns {@code entity}. On Folia the task is dropped if the entity
+     * is removed first, e.g. when the player logs out.
+     */
+    public abstract void runForEntity(Entity entity, Runnable task);
+
+    public abstract void runAsyncTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * @param sender a player or the console; null stands for the global region
+     * @return true if the current thread may already talk to {@code sender}
+     */
+    public abstract boolean isOwnedByCurrentThread(CommandSender sender);
+
+    /**
+     * Runs {@code task} where a reply to {@code sender} belongs: the player's own region, or the global
+     * region for the console (or a null sender).
+     */
+    public void runFor(CommandSender sender, Runnable task) {
+        if (sender instanceof Entity) {
+            runForEntity((Entity) sender, task);
+        } else {
+            runGlobal(task);
+        }
+    }
+
+    /**
+     * Like {@link #runFor(CommandSender, Runnable)}, but runs {@code task} right away when the current thread
+     * already owns {@code sender} (null stands for the global region).
+     */
+    public void execute(CommandSender sender, Runnable task) {
+        if (isOwnedByCurrentThread(sender)) {
+            task.run();
+        } else {
+            runFor(sender, task);
+        }
+    }
+
+    private static final class Classic extends TaskScheduler {
+
+        private Classic(Plugin plugin) {
+            super(plugin);
+        }
+
+        @Override
+        public boolean isRegionized() {
+            return false;
+        }
+
+        @Override
+        public void runGlobal(Runnable task) {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+
+        @Override
+        public void runGlobalLater(Runnable task, long delayTicks) {
+            Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+        }
+
+        @Override
+        public void runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+            Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+        }
+
+        @Override
+        public void runForEntity(Entity entity, Runnable task) {
+            Bukkit.getScheduler().runTask(plugin, task);
+        }
+
+        @Override
+        public void runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+            Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delayTicks, periodTicks);
+        }
+
+        @Override
+        public boolean isOwnedByCurrentThread(CommandSender sender) {
+            return Bukkit.isPrimaryThread();
+        }
+    }
+
+    private static final class Regionized extends TaskScheduler {
+
+        private Regionized(Plugin plugin) {
+            super(plugin);
+        }
+
+        @Override
+        public boolean isRegionized() {
+            return true;
+        }
+
+        @Override
+        public void runGlobal(Runnable task) {
+            Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        }
+
+        @Override
+        public void runGlobalLater(Runnable task, long delayTicks) {
+            // Folia wants delays of at least one tick
+            Bukkit.getGlobalRegionScheduler().runDelayed(plugin, scheduled -> task.run(), Math.max(1, delayTicks));
+        }
+
+        @Override
+        public void runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+            Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                    Math.max(1, delayTicks), Math.max(1, periodTicks));
+        }
+
+        @Override
+        public void runForEntity(Entity entity, Runnable task) {
+            entity.getScheduler().execute(plugin, task, null, 1L);
+        }
+
+        @Override
+        public void runAsyncTimer(Runnable task, long delayTicks, long periodTicks) {
+            Bukkit.getAsyncScheduler().runAtFixedRate(plugin, scheduled -> task.run(),
+                    Math.max(1, delayTicks) * 50, Math.max(1, periodTicks) * 50, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public boolean isOwnedByCurrentThread(CommandSender sender) {
+            // The global region has no cheap ownership check, so work for it is always scheduled
+            return sender instanceof Entity && Bukkit.isOwnedByCurrentRegion((Entity) sender);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.manus.quickreport.database;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import com.manus.quickreport.QuickReport;
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link DatabaseManager} with {@link SqlDialect#MYSQL}, run against an in-memory H2 database in MySQL mode.
+ */
+class PooledDatabaseManagerTest {
+
+    private static final UUID ADMIN = new UUID(9, 9);
+
+    private QuickReport plugin;
+    private final List<DatabaseManager> managers = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        MockBukkit.mock();
+        plugin = MockBukkit.load(QuickReport.class);
+        // DB_CLOSE_DELAY keeps the database alive between connections, like a server would
+        plugin.getConfig().set("storage.mysql.url", "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        plugin.getConfig().set("storage.mysql.username", "sa");
+        plugin.getConfig().set("storage.mysql.password", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (DatabaseManager manager : managers) {
+            manager.drainWrites();
+            manager.disconnect();
+        }
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void migrationsRunAgainOnAnExistingSchema() {
+        open();
+        // A restart finds the schema at the latest version and must not fail on the DDL
+        DatabaseManager restarted = open();
+        assertEquals(0, restarted.countReportsByStatus(ReportStatus.PENDING));
+    }
+
+    @Test
+    void savedReportsCanBeReadBack() {
+        DatabaseManager database = open();
+        int id = database.saveReport(report("Target", "Fly hacking")).join();
+        assertTrue(id > 0);
+
+        Report saved = database.getReportById(id);
+        assertNotNull(saved);
+        assertEquals("Target", saved.getReportedName());
+        assertEquals(ReportStatus.PENDING, saved.getStatus());
+        assertEquals(1, database.countReportsByStatus(ReportStatus.PENDING));
+    }
+
+    @Test
+    void onlyOneTransitionFromPendingApplies() {
+        DatabaseManager database = open();
+        int id = database.saveReport(report("Target", "Fly hacking")).join();
+
+        StatusTransition first = database.transitionReportStatus(id, ReportStatus.PENDING, ReportStatus.ACCEPTED, ADMIN, "Admin", null).join();
+        StatusTransition second = database.transitionReportStatus(id, ReportStatus.PENDING, ReportStatus.REJECTED, ADMIN, "Admin", "No proof").join();
+        assertEquals(StatusTransition.Result.APPLIED, first.getResult());
+        assertEquals(StatusTransition.Result.CONFLICT, second.getResult());
+        assertEquals(ReportStatus.ACCEPTED, second.getReport().getStatus());
+        assertEquals(StatusTransition.Result.NOT_FOUND,
+                database.transitionReportStatus(id + 100, ReportStatus.PENDING, ReportStatus.ACCEPTED, ADMIN, "Admin", null).join().getResult());
+        assertTrue(database.getReportById(id).getProcessedAt() > 0);
+    }
+
+    @Test
+    void playerSelectorIgnoresCase() {
+        DatabaseManager database = open();
+        int first = database.saveReport(report("Griefer", "Broke my house")).join();
+        int second = database.saveReport(report("GRIEFER", "Broke my farm")).join();
+        int other = database.saveReport(report("Someone", "Broke my house")).join();
+
+        List<Report> accepted = database.transitionReportStatuses(ReportSelector.parse("player:griefer"),
+                ReportStatus.PENDING, ReportStatus.ACCEPTED, ADMIN, "Admin", null, 10).join();
+        assertNotNull(accepted);
+        assertEquals(2, accepted.size());
+        assertEquals(first, accepted.get(0).getId());
+        assertEquals(second, accepted.get(1).getId());
+        assertEquals(ReportStatus.PENDING, database.getReportById(other).getStatus());
+        assertEquals(ReportStatus.ACCEPTED, database.getReportById(second).getStatus());
+    }
+
+    @Test
+    void searchMatchesEveryTerm() {
+        DatabaseManager database = open();
+        database.saveReport(report("Target", "Fly hacking in spawn")).join();
+        int match = database.saveReport(report("Target", "KillAura in spawn")).join();
+        database.saveReport(report("Target", "KillAura at the farm")).join();
+
+        List<Report> results = database.searchReports("Kill* spawn", 1, 10);
+        assertEquals(1, results.size());
+        assertEquals(match, results.get(0).getId());
+        assertEquals(2, database.countSearchResults("KillAura"));
+        assertTrue(database.searchReports("nothing", 1, 10).isEmpty());
+    }
+
+    @Test
+    void compactFormatStoresTheSameReports() {
+        plugin.getConfig().set("database.compact-storage", true);
+        DatabaseManager database = open();
+        int id = database.saveReport(report("Target", "Fly hacking")).join();
+        assertEquals(StatusTransition.Result.APPLIED,
+                database.transitionReportStatus(id, ReportStatus.PENDING, ReportStatus.REJECTED, ADMIN, "Admin", "No proof").join().getResult());
+
+        Report saved = database.getReportById(id);
+        assertEquals(new UUID(1, 1), saved.getReporterUUID());
+        assertEquals(ADMIN, saved.getAdminUUID());
+        assertEquals(ReportStatus.REJECTED, saved.getStatus());
+        assertNull(database.getReportById(id + 1));
+    }
+
+    private DatabaseManager open() {
+        DatabaseManager database = new DatabaseManager(plugin, SqlDialect.MYSQL);
+        managers.add(database);
+        assertTrue(database.connect());
+        assertTrue(database.initialize());
+        return database;
+    }
+
+    private static Report report(String reportedName, String reason) {
+        return new Report(0, new UUID(1, 1), "Reporter", new UUID(2, reportedName.hashCode()), reportedName, reason,
+                null, System.currentTimeMillis(), ReportStatus.PENDING, null, null, null);
+    }
+}
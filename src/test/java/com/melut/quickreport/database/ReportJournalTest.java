@@ -0,0 +1,180 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportJournalTest {
+
+    private static final int HEADER_BYTES = 16;
+    private static final int RECORD_HEADER_BYTES = 9;
+
+    @TempDir
+    File directory;
+
+    @Test
+    void freshJournalStartsWithTheHeader() throws IOException {
+        File file = new File(directory, "reports.journal");
+        ReportJournal journal = new ReportJournal(file, 64 * 1024, false);
+        assertTrue(journal.open().isEmpty());
+        journal.close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            assertEquals(0x51524a4c, raf.readInt());
+            assertEquals(1, raf.readInt());
+            raf.seek(HEADER_BYTES);
+            assertEquals(0, raf.readInt());
+        }
+    }
+
+    @Test
+    void openRejectsAFileThatIsNotAJournal() throws IOException {
+        File file = new File(directory, "reports.journal");
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.writeLong(42);
+            raf.writeLong(42);
+        }
+        assertThrows(IOException.class, () -> new ReportJournal(file, 64 * 1024, false).open());
+    }
+
+    @Test
+    void pendingReportsAreReplayedInOrder() throws IOException {
+        File file = new File(directory, "reports.journal");
+        ReportJournal journal = open(file, 10);
+        Report first = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        Report second = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        Report third = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        assertEquals(11, first.getId());
+        assertEquals(13, third.getId());
+        journal.applied(second.getId());
+        assertNull(journal.get(second.getId()));
+        assertEquals(2, journal.getPendingCount());
+        journal.close();
+
+        List<Report> unapplied = new ReportJournal(file, 64 * 1024, false).open();
+        assertEquals(2, unapplied.size());
+        assertEquals(first.getId(), unapplied.get(0).getId());
+        assertEquals(third.getId(), unapplied.get(1).getId());
+        assertEquals(first.getReportedName(), unapplied.get(0).getReportedName());
+    }
+
+    @Test
+    void discardedReportsAreNotReplayed() throws IOException {
+        File file = new File(directory, "reports.journal");
+        ReportJournal journal = open(file, 0);
+        Report kept = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        Report dropped = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        journal.discard(dropped.getId());
+        journal.close();
+
+        List<Report> unapplied = new ReportJournal(file, 64 * 1024, false).open();
+        assertEquals(1, unapplied.size());
+        assertEquals(kept.getId(), unapplied.get(0).getId());
+    }
+
+    @Test
+    void replayStopsAtATornRecord() throws IOException {
+        File file = new File(directory, "reports.journal");
+        ReportJournal journal = open(file, 0);
+        Report first = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        journal.close();
+
+        // The crash came before the second record's length was written
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(secondRecord(raf));
+            raf.writeInt(0);
+        }
+
+        List<Report> unapplied = new ReportJournal(file, 64 * 1024, false).open();
+        assertEquals(1, unapplied.size());
+        assertEquals(first.getId(), unapplied.get(0).getId());
+    }
+
+    @Test
+    void replayStopsAtABadChecksum() throws IOException {
+        File file = new File(directory, "reports.journal");
+        ReportJournal journal = open(file, 0);
+        Report first = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        journal.close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long payload = secondRecord(raf) + RECORD_HEADER_BYTES;
+            raf.seek(payload);
+            int value = raf.read();
+            raf.seek(payload);
+            raf.write(value ^ 0xFF);
+        }
+
+        List<Report> unapplied = new ReportJournal(file, 64 * 1024, false).open();
+        assertEquals(1, unapplied.size());
+        assertEquals(first.getId(), unapplied.get(0).getId());
+    }
+
+    @Test
+    void journalRewindsOnceEverythingIsApplied() throws IOException {
+        File file = new File(directory, "reports.journal");
+        ReportJournal journal = open(file, 0);
+        Report first = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        Report second = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        journal.applied(first.getId());
+        journal.applied(second.getId());
+        assertEquals(0, journal.getPendingCount());
+
+        // Written over the first record, and only it is replayed; ids keep counting up
+        Report third = journal.append(ReportLogTest.report(0, ReportStatus.PENDING));
+        assertEquals(second.getId() + 1, third.getId());
+        journal.close();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(HEADER_BYTES);
+            assertEquals(ReportLog.encode(third).length, raf.readInt());
+        }
+
+        List<Report> unapplied = new ReportJournal(file, 64 * 1024, false).open();
+        assertEquals(1, unapplied.size());
+        assertEquals(third.getId(), unapplied.get(0).getId());
+    }
+
+    @Test
+    void appendReturnsNullWhenTheJournalIsFull() throws IOException {
+        ReportJournal journal = open(new File(directory, "reports.journal"), 0);
+        int appended = 0;
+        while (journal.append(ReportLogTest.report(0, ReportStatus.PENDING)) != null) {
+            appended++;
+        }
+        assertTrue(appended > 0);
+        assertEquals(appended, journal.getPendingCount());
+        // A full journal still hands out ids for reports written straight to the database
+        assertEquals(appended + 1, journal.allocateId());
+        assertNotNull(journal.get(1));
+        journal.close();
+    }
+
+    private static ReportJournal open(File file, int lastId) throws IOException {
+        ReportJournal journal = new ReportJournal(file, 64 * 1024, false);
+        journal.open();
+        journal.reset(lastId);
+        return journal;
+    }
+
+    /**
+     * @return the offset of the second record, found from the first record's length
+     */
+    private static long secondRecord(RandomAccessFile raf) throws IOException {
+        raf.seek(HEADER_BYTES);
+        return HEADER_BYTES + RECORD_HEADER_BYTES + raf.readInt();
+    }
+}
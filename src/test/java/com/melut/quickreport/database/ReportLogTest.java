@@ -0,0 +1,152 @@
+package com.manus.quickreport.database;
+
+import com.manus.quickreport.model.Report;
+import com.manus.quickreport.model.ReportStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReportLogTest {
+
+    private static final Logger LOGGER = Logger.getLogger("ReportLogTest");
+
+    @TempDir
+    File directory;
+
+    @Test
+    void recoverKeepsTheLatestImageOfEachReport() throws IOException {
+        ReportLog log = open();
+        log.append(report(1, ReportStatus.PENDING));
+        log.append(report(2, ReportStatus.PENDING));
+        log.append(report(1, ReportStatus.ACCEPTED));
+        log.flush();
+        log.close();
+
+        Map<Integer, Report> reports = new LinkedHashMap<>();
+        assertEquals(3, new ReportLog(directory, LOGGER, 1024 * 1024, false).recover(r -> reports.put(r.getId(), r)));
+        assertEquals(2, reports.size());
+        assertEquals(ReportStatus.ACCEPTED, reports.get(1).getStatus());
+        assertEquals(ReportStatus.PENDING, reports.get(2).getStatus());
+    }
+
+    @Test
+    void recoverCutsATornRecordOffTheSegment() throws IOException {
+        ReportLog log = open();
+        log.append(report(1, ReportStatus.PENDING));
+        log.append(report(2, ReportStatus.PENDING));
+        log.close();
+        File segment = onlySegment();
+        long intact = segment.length();
+
+        // A record whose length made it to disk but whose payload did not
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(segment, true))) {
+            out.writeInt(200);
+            out.write(new byte[]{1, 2, 3});
+        }
+
+        Map<Integer, Report> reports = new LinkedHashMap<>();
+        log = new ReportLog(directory, LOGGER, 1024 * 1024, false);
+        assertEquals(2, log.recover(r -> reports.put(r.getId(), r)));
+        assertEquals(intact, segment.length());
+
+        // Appends continue right after the last complete record
+        log.append(report(3, ReportStatus.PENDING));
+        log.close();
+        reports.clear();
+        new ReportLog(directory, LOGGER, 1024 * 1024, false).recover(r -> reports.put(r.getId(), r));
+        assertArrayEquals(new Integer[]{1, 2, 3}, reports.keySet().toArray(new Integer[0]));
+    }
+
+    @Test
+    void recoverStopsAtARecordWithABadChecksum() throws IOException {
+        ReportLog log = open();
+        log.append(report(1, ReportStatus.PENDING));
+        log.flush();
+        long first = onlySegment().length();
+        log.append(report(2, ReportStatus.PENDING));
+        log.close();
+        File segment = onlySegment();
+
+        try (RandomAccessFile raf = new RandomAccessFile(segment, "rw")) {
+            // Flip a byte inside the second record's payload
+            long offset = first + 8;
+            raf.seek(offset);
+            int value = raf.read();
+            raf.seek(offset);
+            raf.write(value ^ 0xFF);
+        }
+
+        Map<Integer, Report> reports = new LinkedHashMap<>();
+        assertEquals(1, new ReportLog(directory, LOGGER, 1024 * 1024, false).recover(r -> reports.put(r.getId(), r)));
+        assertEquals(1, reports.size());
+        assertEquals(first, segment.length());
+    }
+
+    @Test
+    void snapshotReplacesTheSegmentsBeforeIt() throws IOException {
+        ReportLog log = open();
+        log.append(report(1, ReportStatus.PENDING));
+        log.append(report(2, ReportStatus.PENDING));
+        log.append(report(1, ReportStatus.REJECTED));
+        log.flush();
+        long seq = log.roll();
+        log.writeSnapshot(seq, new Report[]{null, report(1, ReportStatus.REJECTED), report(2, ReportStatus.PENDING)});
+        log.append(report(3, ReportStatus.PENDING));
+        log.close();
+
+        String[] files = directory.list();
+        Arrays.sort(files);
+        assertArrayEquals(new String[]{String.format("segment-%016d.log", seq), String.format("snapshot-%016d.dat", seq)}, files);
+
+        Map<Integer, Report> reports = new LinkedHashMap<>();
+        // Only the record written after the snapshot is replayed
+        assertEquals(1, new ReportLog(directory, LOGGER, 1024 * 1024, false).recover(r -> reports.put(r.getId(), r)));
+        assertEquals(3, reports.size());
+        assertEquals(ReportStatus.REJECTED, reports.get(1).getStatus());
+    }
+
+    @Test
+    void encodeRoundTripsEveryField() throws IOException {
+        Report report = new Report(7, UUID.randomUUID(), "Reporter", UUID.randomUUID(), "Target", "Fly", null,
+                1234L, ReportStatus.ACCEPTED, UUID.randomUUID(), "Admin", null, 5678L);
+        Report decoded = ReportLog.decode(ReportLog.encode(report));
+        assertEquals(report.getId(), decoded.getId());
+        assertEquals(report.getReporterUUID(), decoded.getReporterUUID());
+        assertEquals(report.getReportedName(), decoded.getReportedName());
+        assertEquals(report.getDetails(), decoded.getDetails());
+        assertEquals(report.getStatus(), decoded.getStatus());
+        assertEquals(report.getAdminUUID(), decoded.getAdminUUID());
+        assertEquals(report.getProcessedAt(), decoded.getProcessedAt());
+    }
+
+    private ReportLog open() throws IOException {
+        ReportLog log = new ReportLog(directory, LOGGER, 1024 * 1024, false);
+        log.recover(report -> {
+        });
+        return log;
+    }
+
+    private File onlySegment() {
+        File[] segments = directory.listFiles((dir, name) -> name.startsWith("segment-"));
+        assertEquals(1, segments.length);
+        return segments[0];
+    }
+
+    static Report report(int id, ReportStatus status) {
+        return new Report(id, new UUID(1, id), "Reporter" + id, new UUID(2, id), "Target" + id, "Cheating",
+                "details " + id, 1000L + id, status, null, null, null);
+    }
+}